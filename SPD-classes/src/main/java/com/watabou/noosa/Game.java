@@ -214,13 +214,15 @@ public class Game implements ApplicationListener {
 	}
 	
 	public static void switchScene(Class<? extends Scene> c, SceneChangeCallback callback) {
+		//there are no scenes to switch between when running without a game instance, e.g. headless
+		if (instance == null) return;
 		instance.sceneClass = c;
 		instance.requestedReset = true;
 		instance.onChange = callback;
 	}
 	
 	public static Scene scene() {
-		return instance.scene;
+		return instance != null ? instance.scene : null;
 	}
 
 	public static boolean switchingScene() {
@@ -33,6 +33,8 @@ public class BArray {
 		System.arraycopy(falseArray, 0, toBeFalse, 0,  toBeFalse.length);
 	}
 
+	//and and or avoid short-circuiting operators, so that their loops have no branches.
+	//This lets the JIT compile them to instructions which work on many cells at once
 	public static boolean[] and( boolean[] a, boolean[] b, boolean[] result ) {
 		
 		int length = a.length;
@@ -42,7 +44,7 @@ public class BArray {
 		}
 		
 		for (int i=0; i < length; i++) {
-			result[i] = a[i] && b[i];
+			result[i] = a[i] & b[i];
 		}
 		
 		return result;
@@ -59,7 +61,7 @@ public class BArray {
 		}
 		
 		for (int i=offset; i < offset+length; i++) {
-			result[i] = a[i] || b[i];
+			result[i] = a[i] | b[i];
 		}
 		
 		return result;
@@ -22,22 +22,15 @@
 package com.watabou.utils;
 
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.NoSuchElementException;
 
 public class PathFinder {
 	
+	//the distance map of the last search made through the static methods below
 	public static int[] distance;
-	private static int[] maxVal;
-	
-	private static boolean[] goals;
-	private static int[] queue;
-	private static boolean[] queued; //currently only used in getStepBack, other can piggyback on distance
-	
-	private static int size = 0;
-	private static int width = 0;
 
-	private static int[] dir;
-	private static int[] dirLR;
+	//the static methods all share this searcher, code that searches from other threads should make its own
+	private static Searcher shared;
 
 	//performance-light shortcuts for some common pathfinder cases
 	//they are in array-access order for increased memory performance
@@ -51,20 +44,14 @@ public class PathFinder {
 	public static int[] CIRCLE8;
 	
 	public static void setMapSize( int width, int height ) {
-		
-		PathFinder.width = width;
-		PathFinder.size = width * height;
-		
-		distance = new int[size];
-		goals = new boolean[size];
-		queue = new int[size];
-		queued = new boolean[size];
 
-		maxVal = new int[size];
-		Arrays.fill(maxVal, Integer.MAX_VALUE);
+		//buffers are only scratch space, so they can be kept if the size is unchanged
+		if (shared != null && shared.width == width && shared.size == width * height){
+			return;
+		}
 
-		dir = new int[]{-1, +1, -width, +width, -width-1, -width+1, +width-1, +width+1};
-		dirLR = new int[]{-1-width, -1, -1+width, -width, +width, +1-width, +1, +1+width};
+		shared = new Searcher( width, height );
+		distance = shared.distance;
 
 		NEIGHBOURS4 = new int[]{-width, -1, +1, +width};
 		NEIGHBOURS8 = new int[]{-width-1, -width, -width+1, -1, +1, +width-1, +width, +width+1};
@@ -75,343 +62,551 @@ public class PathFinder {
 	}
 
 	public static Path find( int from, int to, boolean[] passable ) {
+		return shared.find( from, to, passable );
+	}
+
+	public static Path find( int from, int[] distance ) {
+		return shared.find( from, distance );
+	}
+
+	public static int getStep( int from, int to, boolean[] passable ) {
+		return shared.getStep( from, to, passable );
+	}
+
+	public static int getStepBack( int cur, int from, int lookahead, boolean[] passable, boolean canApproachFromPos ) {
+		return shared.getStepBack( cur, from, lookahead, passable, canApproachFromPos );
+	}
+
+	public static void buildDistanceMap( int to, boolean[] passable, int limit ) {
+		shared.buildDistanceMap( to, passable, limit );
+	}
 
-		if (!buildDistanceMap( from, to, passable )) {
-			return null;
+	public static void buildDistanceMap( int to, boolean[] passable ) {
+		shared.buildDistanceMap( to, passable );
+	}
+
+	//Does the actual searching for a map of one size, with its own scratch buffers.
+	//A searcher can only be used by one thread at a time, but separate searchers are independent,
+	// so paths for several characters or levels can be worked out in parallel.
+	public static class Searcher {
+
+		//the distance map of this searcher's last buildDistanceMap or getStepBack
+		public final int[] distance;
+		private final int[] maxVal;
+
+		private final boolean[] goals;
+		private final int[] queue;
+		private final boolean[] queued; //currently only used in getStepBack, other can piggyback on distance
+
+		//distances for find and getStep, which only touch the cells they reach instead of resetting the map.
+		//Each search counts up from its own base, which is above every value earlier searches left behind,
+		// so a cell has been reached by the current search only if its value is at least the base
+		private final int[] searchDistance;
+		private int searchBase = 0;
+
+		private final int size;
+		private final int width;
+
+		private final int[] dir;
+		private final int[] dirLR;
+
+		public Searcher( int width, int height ) {
+
+			this.width = width;
+			this.size = width * height;
+
+			distance = new int[size];
+			goals = new boolean[size];
+			queue = new int[size];
+			queued = new boolean[size];
+			searchDistance = new int[size];
+
+			maxVal = new int[size];
+			Arrays.fill(maxVal, Integer.MAX_VALUE);
+
+			dir = new int[]{-1, +1, -width, +width, -width-1, -width+1, +width-1, +width+1};
+			dirLR = new int[]{-1-width, -1, -1+width, -width, +width, +1-width, +1, +1+width};
 		}
-		
-		Path result = new Path();
-		int s = from;
 
-		// From the starting position we are moving downwards,
-		// until we reach the ending point
-		do {
-			int minD = distance[s];
-			int mins = s;
+		public Path find( int from, int to, boolean[] passable ) {
+
+			if (!search( from, to, passable )) {
+				return null;
+			}
 			
-			for (int i=0; i < dir.length; i++) {
+			//the path has exactly as many cells as the start is steps away from the target
+			Path result = new Path( searched( from ) );
+			int s = from;
+
+			// From the starting position we are moving downwards,
+			// until we reach the ending point
+			do {
+				int minD = searched( s );
+				int mins = s;
 				
-				int n = s + dir[i];
-				
-				int thisD = distance[n];
-				if (thisD < minD) {
-					minD = thisD;
-					mins = n;
+				for (int i=0; i < dir.length; i++) {
+					
+					int n = s + dir[i];
+					
+					int thisD = searched( n );
+					if (thisD < minD) {
+						minD = thisD;
+						mins = n;
+					}
 				}
-			}
-			s = mins;
-			result.add( s );
-		} while (s != to);
-		
-		return result;
-	}
-	
-	public static int getStep( int from, int to, boolean[] passable ) {
-		
-		if (!buildDistanceMap( from, to, passable )) {
-			return -1;
+				s = mins;
+				result.add( s );
+			} while (s != to);
+			
+			return result;
 		}
 		
-		// From the starting position we are making one step downwards
-		int minD = distance[from];
-		int best = from;
-		
-		int step, stepD;
-		
-		for (int i=0; i < dir.length; i++) {
+		//follows a distance map made by buildDistanceMap( to, passable ) down from the given cell.
+		//This gives the same path as find( from, to, passable ), without searching again
+		public Path find( int from, int[] distance ) {
 
-			if ((stepD = distance[step = from + dir[i]]) < minD) {
-				minD = stepD;
-				best = step;
+			if (distance[from] == 0) {
+				return null;
 			}
-		}
 
-		return best;
-	}
-	
-	public static int getStepBack( int cur, int from, int lookahead, boolean[] passable, boolean canApproachFromPos ) {
+			Path result = new Path();
+			int s = from;
+			//the starting cell itself may not be passable, so it isn't compared against
+			int minD = Integer.MAX_VALUE;
 
-		int d = buildEscapeDistanceMap( cur, from, lookahead, passable );
-		if (d == 0) return -1;
+			do {
+				int mins = s;
 
-		if (!canApproachFromPos) {
-			//We can't approach the position we are retreating from
-			//re-calculate based on this, and reduce the target distance if need-be
-			int head = 0;
-			int tail = 0;
+				for (int i=0; i < dir.length; i++) {
 
-			int newD = distance[cur];
-			BArray.setFalse(queued);
+					int n = s + dir[i];
 
-			queue[tail++] = cur;
-			queued[cur] = true;
+					int thisD = distance[n];
+					if (thisD < minD) {
+						minD = thisD;
+						mins = n;
+					}
+				}
+				if (mins == s) {
+					return null;
+				}
+				s = mins;
+				result.add( s );
+			} while (minD != 0);
 
-			while (head < tail) {
-				int step = queue[head++];
+			return result;
+		}
+
+		public int getStep( int from, int to, boolean[] passable ) {
+			
+			if (!search( from, to, passable )) {
+				return -1;
+			}
+			
+			// From the starting position we are making one step downwards
+			int minD = searched( from );
+			int best = from;
+			
+			int step, stepD;
+			
+			for (int i=0; i < dir.length; i++) {
 
-				if (distance[step] > newD) {
-					newD = distance[step];
+				if ((stepD = searched( step = from + dir[i] )) < minD) {
+					minD = stepD;
+					best = step;
 				}
+			}
 
-				int start = (step % width == 0 ? 3 : 0);
-				int end = ((step + 1) % width == 0 ? 3 : 0);
-				for (int i = start; i < dirLR.length - end; i++) {
+			return best;
+		}
+		
+		public int getStepBack( int cur, int from, int lookahead, boolean[] passable, boolean canApproachFromPos ) {
 
-					int n = step + dirLR[i];
-					if (n >= 0 && n < size && passable[n]) {
-						if (distance[n] < distance[cur]) {
-							passable[n] = false;
-						} else if (distance[n] >= distance[step] && !queued[n]) {
-							// Add to queue
-							queue[tail++] = n;
-							queued[n] = true;
+			int d = buildEscapeDistanceMap( cur, from, lookahead, passable );
+			if (d == 0) return -1;
+
+			if (!canApproachFromPos) {
+				//We can't approach the position we are retreating from
+				//re-calculate based on this, and reduce the target distance if need-be
+				int head = 0;
+				int tail = 0;
+
+				int newD = distance[cur];
+				BArray.setFalse(queued);
+
+				queue[tail++] = cur;
+				queued[cur] = true;
+
+				while (head < tail) {
+					int step = queue[head++];
+
+					if (distance[step] > newD) {
+						newD = distance[step];
+					}
+
+					int start = (step % width == 0 ? 3 : 0);
+					int end = ((step + 1) % width == 0 ? 3 : 0);
+					for (int i = start; i < dirLR.length - end; i++) {
+
+						int n = step + dirLR[i];
+						if (n >= 0 && n < size && passable[n]) {
+							if (distance[n] < distance[cur]) {
+								passable[n] = false;
+							} else if (distance[n] >= distance[step] && !queued[n]) {
+								// Add to queue
+								queue[tail++] = n;
+								queued[n] = true;
+							}
 						}
 					}
+
 				}
 
+				d = Math.min(newD, d);
 			}
 
-			d = Math.min(newD, d);
-		}
-
-		for (int i=0; i < size; i++) {
-			goals[i] = distance[i] == d;
-		}
-		if (!buildDistanceMap( cur, goals, passable )) {
-			return -1;
-		}
-
-		int s = cur;
-		
-		// From the starting position we are making one step downwards
-		int minD = distance[s];
-		int mins = s;
-		
-		for (int i=0; i < dir.length; i++) {
+			for (int i=0; i < size; i++) {
+				goals[i] = distance[i] == d;
+			}
+			if (!buildDistanceMap( cur, goals, passable )) {
+				return -1;
+			}
 
-			int n = s + dir[i];
-			int thisD = distance[n];
+			int s = cur;
+			
+			// From the starting position we are making one step downwards
+			int minD = distance[s];
+			int mins = s;
 			
-			if (thisD < minD) {
-				minD = thisD;
-				mins = n;
+			for (int i=0; i < dir.length; i++) {
+
+				int n = s + dir[i];
+				int thisD = distance[n];
+				
+				if (thisD < minD) {
+					minD = thisD;
+					mins = n;
+				}
 			}
-		}
 
-		return mins;
-	}
-	
-	private static boolean buildDistanceMap( int from, int to, boolean[] passable ) {
-		
-		if (from == to) {
-			return false;
+			return mins;
 		}
-
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
-		
-		boolean pathFound = false;
 		
-		int head = 0;
-		int tail = 0;
-		
-		// Add to queue
-		queue[tail++] = to;
-		distance[to] = 0;
-		
-		while (head < tail) {
+		//the same search buildDistanceMap does, stopping once 'from' is reached, but with distances kept
+		// relative to the search's base. Its cost depends only on how many cells are reached
+		private boolean search( int from, int to, boolean[] passable ) {
 			
-			// Remove from queue
-			int step = queue[head++];
-			if (step == from) {
-				pathFound = true;
-				break;
+			if (from == to) {
+				return false;
+			}
+
+			if (searchBase > Integer.MAX_VALUE - 2*(size+1)) {
+				Arrays.fill( searchDistance, 0 );
+				searchBase = 0;
 			}
-			int nextDistance = distance[step] + 1;
+			//no distance can be larger than size, so this is above everything from the last search
+			searchBase += size+1;
+
+			int[] searchDistance = this.searchDistance;
+			int base = searchBase;
+			
+			int head = 0;
+			int tail = 0;
+			
+			// Add to queue
+			queue[tail++] = to;
+			searchDistance[to] = base;
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
+			while (head < tail) {
+				
+				// Remove from queue
+				int step = queue[head++];
+				if (step == from) {
+					return true;
+				}
+				int nextDistance = searchDistance[step] + 1;
+				
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
 
-				int n = step + dirLR[i];
-				if (n == from || (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance))) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
+					int n = step + dirLR[i];
+					if (n == from || (n >= 0 && n < size && passable[n] && searchDistance[n] < base)) {
+						// Add to queue
+						queue[tail++] = n;
+						searchDistance[n] = nextDistance;
+					}
+						
 				}
-					
 			}
+			
+			return false;
+		}
+
+		//a cell's distance from the last search's target, or MAX_VALUE if the search didn't reach it
+		private int searched( int cell ) {
+			int d = searchDistance[cell];
+			return d >= searchBase ? d - searchBase : Integer.MAX_VALUE;
 		}
 		
-		return pathFound;
-	}
-	
-	public static void buildDistanceMap( int to, boolean[] passable, int limit ) {
-		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
-		
-		int head = 0;
-		int tail = 0;
-		
-		// Add to queue
-		queue[tail++] = to;
-		distance[to] = 0;
-		
-		while (head < tail) {
+		public void buildDistanceMap( int to, boolean[] passable, int limit ) {
 			
-			// Remove from queue
-			int step = queue[head++];
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 			
-			int nextDistance = distance[step] + 1;
-			if (nextDistance > limit) {
-				return;
-			}
+			int head = 0;
+			int tail = 0;
+			
+			// Add to queue
+			queue[tail++] = to;
+			distance[to] = 0;
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
+			while (head < tail) {
+				
+				// Remove from queue
+				int step = queue[head++];
+				
+				int nextDistance = distance[step] + 1;
+				if (nextDistance > limit) {
+					return;
+				}
+				
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
 
-				int n = step + dirLR[i];
-				if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
+					int n = step + dirLR[i];
+					if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
+						
 				}
-					
 			}
 		}
-	}
-	
-	private static boolean buildDistanceMap( int from, boolean[] to, boolean[] passable ) {
 		
-		if (to[from]) {
-			return false;
-		}
-		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
-		
-		boolean pathFound = false;
-		
-		int head = 0;
-		int tail = 0;
-		
-		// Add to queue
-		for (int i=0; i < size; i++) {
-			if (to[i]) {
-				queue[tail++] = i;
-				distance[i] = 0;
+		private boolean buildDistanceMap( int from, boolean[] to, boolean[] passable ) {
+			
+			if (to[from]) {
+				return false;
 			}
-		}
-		
-		while (head < tail) {
 			
-			// Remove from queue
-			int step = queue[head++];
-			if (step == from) {
-				pathFound = true;
-				break;
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+			
+			boolean pathFound = false;
+			
+			int head = 0;
+			int tail = 0;
+			
+			// Add to queue
+			for (int i=0; i < size; i++) {
+				if (to[i]) {
+					queue[tail++] = i;
+					distance[i] = 0;
+				}
 			}
-			int nextDistance = distance[step] + 1;
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
+			while (head < tail) {
+				
+				// Remove from queue
+				int step = queue[head++];
+				if (step == from) {
+					pathFound = true;
+					break;
+				}
+				int nextDistance = distance[step] + 1;
+				
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
 
-				int n = step + dirLR[i];
-				if (n == from || (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance))) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
+					int n = step + dirLR[i];
+					if (n == from || (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance))) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
+						
 				}
-					
 			}
+			
+			return pathFound;
 		}
-		
-		return pathFound;
-	}
 
-	//the lookahead is the target number of cells to retreat toward from our current position's
-	// distance from the position we are escaping from. Returns the highest found distance, up to the lookahead
-	private static int buildEscapeDistanceMap( int cur, int from, int lookAhead, boolean[] passable ) {
-		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
-		
-		int destDist = Integer.MAX_VALUE;
-		
-		int head = 0;
-		int tail = 0;
-		
-		// Add to queue
-		queue[tail++] = from;
-		distance[from] = 0;
-		
-		int dist = 0;
-		
-		while (head < tail) {
+		//the lookahead is the target number of cells to retreat toward from our current position's
+		// distance from the position we are escaping from. Returns the highest found distance, up to the lookahead
+		private int buildEscapeDistanceMap( int cur, int from, int lookAhead, boolean[] passable ) {
 			
-			// Remove from queue
-			int step = queue[head++];
-			dist = distance[step];
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 			
-			if (dist > destDist) {
-				return destDist;
-			}
+			int destDist = Integer.MAX_VALUE;
 			
-			if (step == cur) {
-				destDist = dist + lookAhead;
-			}
+			int head = 0;
+			int tail = 0;
 			
-			int nextDistance = dist + 1;
+			// Add to queue
+			queue[tail++] = from;
+			distance[from] = 0;
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
+			int dist = 0;
+			
+			while (head < tail) {
+				
+				// Remove from queue
+				int step = queue[head++];
+				dist = distance[step];
+				
+				if (dist > destDist) {
+					return destDist;
+				}
+				
+				if (step == cur) {
+					destDist = dist + lookAhead;
+				}
+				
+				int nextDistance = dist + 1;
+				
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
 
-				int n = step + dirLR[i];
-				if (n >= 0 && n < size && passable[n] && distance[n] > nextDistance) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
+					int n = step + dirLR[i];
+					if (n >= 0 && n < size && passable[n] && distance[n] > nextDistance) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
+						
 				}
-					
 			}
+			
+			return dist;
 		}
 		
-		return dist;
-	}
-	
-	public static void buildDistanceMap( int to, boolean[] passable ) {
-		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
-		
-		int head = 0;
-		int tail = 0;
-		
-		// Add to queue
-		queue[tail++] = to;
-		distance[to] = 0;
-		
-		while (head < tail) {
+		public void buildDistanceMap( int to, boolean[] passable ) {
+			
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 			
-			// Remove from queue
-			int step = queue[head++];
-			int nextDistance = distance[step] + 1;
+			int head = 0;
+			int tail = 0;
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
+			// Add to queue
+			queue[tail++] = to;
+			distance[to] = 0;
+			
+			while (head < tail) {
+				
+				// Remove from queue
+				int step = queue[head++];
+				int nextDistance = distance[step] + 1;
+				
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
 
-				int n = step + dirLR[i];
-				if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
+					int n = step + dirLR[i];
+					if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
+						
 				}
-					
 			}
 		}
 	}
-	
-	@SuppressWarnings("serial")
-	public static class Path extends LinkedList<Integer> {
+
+	//A path as a sequence of cells, kept in an int array rather than as boxed integers.
+	//Cells taken from the front just move a cursor forward, so following a path never copies it
+	public static class Path {
+
+		private int[] cells;
+		private int start = 0;
+		private int end = 0;
+
+		public Path() {
+			this( 16 );
+		}
+
+		public Path( int capacity ) {
+			cells = new int[Math.max( capacity, 1 )];
+		}
+
+		public int size() {
+			return end - start;
+		}
+
+		public boolean isEmpty() {
+			return end == start;
+		}
+
+		public int get( int index ) {
+			if (index < 0 || index >= size()) {
+				throw new IndexOutOfBoundsException( "index " + index + ", size " + size() );
+			}
+			return cells[start + index];
+		}
+
+		public int getFirst() {
+			if (isEmpty()) throw new NoSuchElementException();
+			return cells[start];
+		}
+
+		public int getLast() {
+			if (isEmpty()) throw new NoSuchElementException();
+			return cells[end - 1];
+		}
+
+		public int removeFirst() {
+			if (isEmpty()) throw new NoSuchElementException();
+			return cells[start++];
+		}
+
+		public int removeLast() {
+			if (isEmpty()) throw new NoSuchElementException();
+			return cells[--end];
+		}
+
+		public void add( int cell ) {
+			if (end == cells.length) {
+				resize( 0 );
+			}
+			cells[end++] = cell;
+		}
+
+		public void addFirst( int cell ) {
+			if (start == 0) {
+				resize( Math.max( size(), 1 ) );
+			}
+			cells[--start] = cell;
+		}
+
+		public void clear() {
+			start = end = 0;
+		}
+
+		//moves the cells so that there is the given amount of room in front of them,
+		// and at least as much room after them as there are cells
+		private void resize( int front ) {
+			int size = size();
+			int[] dest = cells;
+			if (front + 2*size > cells.length) {
+				dest = new int[Math.max( front + 2*size, 16 )];
+			}
+			System.arraycopy( cells, start, dest, front, size );
+			cells = dest;
+			start = front;
+			end = front + size;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder result = new StringBuilder( "[" );
+			for (int i = start; i < end; i++) {
+				if (i > start) result.append( ", " );
+				result.append( cells[i] );
+			}
+			return result.append( "]" ).toString();
+		}
 	}
 }
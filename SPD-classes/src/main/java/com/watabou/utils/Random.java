@@ -23,6 +23,7 @@ package com.watabou.utils;
 
 import com.watabou.noosa.Game;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
@@ -41,15 +42,50 @@ public class Random {
 
 	public static synchronized void resetGenerators(){
 		generators = new ArrayDeque<>();
-		generators.push(new java.util.Random());
+		generators.push(new Generator());
+	}
+
+	//copies the state of every generator in the stack, so that the same numbers can be produced again later
+	public static synchronized byte[] saveGenerators(){
+		ByteBuffer bytes = ByteBuffer.allocate( 8 * generators.size() );
+		for (java.util.Random r : generators){
+			bytes.putLong( ((Generator) r).state );
+		}
+		return bytes.array();
+	}
+
+	//replaces the generator stack with one previously copied by saveGenerators
+	public static synchronized void restoreGenerators( byte[] state ){
+		ByteBuffer bytes = ByteBuffer.wrap( state );
+		ArrayDeque<java.util.Random> restored = new ArrayDeque<>();
+		while (bytes.hasRemaining()){
+			Generator generator = new Generator( 0 );
+			generator.state = bytes.getLong();
+			restored.add( generator );
+		}
+		generators = restored;
+	}
+
+	//a hash of the state of every seeded generator in the stack, equal stacks will produce the same numbers.
+	//The base generator is left out, as it is deliberately unseeded and differs between every game
+	public static synchronized long stateHash(){
+		long hash = generators.size();
+		for (java.util.Random r : generators){
+			if (r == generators.peekLast()){
+				break;
+			}
+			hash *= 0x9E3779B97F4A7C15L;
+			hash ^= r instanceof Generator ? ((Generator) r).state : r.hashCode();
+		}
+		return hash;
 	}
 
 	public static synchronized void pushGenerator(){
-		generators.push( new java.util.Random() );
+		generators.push( new Generator() );
 	}
 
 	public static synchronized void pushGenerator( long seed ){
-		generators.push( new java.util.Random( scrambleSeed(seed) ) );
+		generators.push( new Generator( scrambleSeed(seed) ) );
 	}
 
 	//scrambles a given seed, this helps eliminate patterns between the outputs of similar seeds
@@ -282,4 +318,39 @@ public class Random {
 			}
 		}
 	}
+
+	//produces exactly the same numbers as java.util.Random, but keeps its state in a plain field.
+	//This means the state can be read for hashing, and it avoids an atomic update on every number,
+	// which is unnecessary as all access goes through the synchronized methods above.
+	private static class Generator extends java.util.Random {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final long MULTIPLIER = 0x5DEECE66DL;
+		private static final long ADDEND = 0xBL;
+		private static final long MASK = (1L << 48) - 1;
+
+		//not initialized here, as the superclass constructor sets it through setSeed
+		private long state;
+
+		public Generator(){
+			super();
+		}
+
+		public Generator( long seed ){
+			super( seed );
+		}
+
+		@Override
+		public synchronized void setSeed( long seed ) {
+			super.setSeed( seed );
+			state = (seed ^ MULTIPLIER) & MASK;
+		}
+
+		@Override
+		protected int next( int bits ) {
+			state = (state * MULTIPLIER + ADDEND) & MASK;
+			return (int)(state >>> (48 - bits));
+		}
+	}
 }
@@ -24,6 +24,8 @@ package com.watabou.utils;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.watabou.noosa.Game;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 //wrapper for libGDX reflection
 public class Reflection {
 	
@@ -48,9 +50,12 @@ public class Reflection {
 		return ClassReflection.newInstance(cls);
 	}
 	
+	//looking up a class by name is slow, and restoring a bundle looks up the same few classes many times
+	private static final ConcurrentHashMap<String, Class<?>> classes = new ConcurrentHashMap<>();
+	
 	public static Class forName( String name ){
 		try {
-			return ClassReflection.forName( name );
+			return forNameUnhandled( name );
 		} catch (Exception e) {
 			Game.reportException(e);
 			return null;
@@ -58,7 +63,12 @@ public class Reflection {
 	}
 	
 	public static Class forNameUnhandled( String name ) throws Exception {
-		return ClassReflection.forName( name );
+		Class<?> cls = classes.get( name );
+		if (cls == null){
+			cls = ClassReflection.forName( name );
+			classes.put( name, cls );
+		}
+		return cls;
 	}
 	
 }
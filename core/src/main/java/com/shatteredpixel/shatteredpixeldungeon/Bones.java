@@ -53,6 +53,9 @@ public class Bones {
 	private static Item item;
 	private static HeroClass heroClass;
 
+	//remains are passed between runs through a file, runs that must be reproducible can turn them off
+	public static boolean enabled = true;
+
 	public static void leave() {
 
 		//remains will usually drop on the floor the hero died on
@@ -62,7 +65,7 @@ public class Bones {
 		branch = Dungeon.branch;
 
 		//daily runs do not interact with remains
-		if (Dungeon.daily) {
+		if (Dungeon.daily || !enabled) {
 			depth = branch = -1;
 			return;
 		}
@@ -153,7 +156,7 @@ public class Bones {
 
 	public static ArrayList<Item> get() {
 		//daily runs do not interact with remains
-		if (Dungeon.daily){
+		if (Dungeon.daily || !enabled){
 			return null;
 		}
 
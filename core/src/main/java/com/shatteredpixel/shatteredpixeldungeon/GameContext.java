@@ -0,0 +1,74 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+
+package com.shatteredpixel.shatteredpixeldungeon;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.watabou.utils.Random;
+
+import java.util.ArrayList;
+
+//The game keeps the run being played in static fields: Dungeon's run state, the actor scheduler,
+// the RNG stack and the rest of the run-wide statics. So only one game can be live in a process at
+// a time, and games played in parallel need a process each.
+//A context stands for one game played through those fields. Starting it resets them for a fresh game,
+// replacing whichever game was live, and entering it checks that it is still the live one, so that
+// code holding on to a replaced game fails instead of quietly playing on with another game's state.
+public class GameContext {
+
+	private static GameContext live = null;
+
+	//resets the static fields for a fresh game and makes this context the live one
+	public void start(){
+		Random.resetGenerators();
+
+		Actor.clear();
+		Actor.resetNextID();
+
+		Dungeon.challenges = 0;
+		Dungeon.mobsToChampion = 0;
+		Dungeon.hero = null;
+		Dungeon.level = null;
+		Dungeon.quickslot.reset();
+		Dungeon.depth = 0;
+		Dungeon.branch = 0;
+		Dungeon.generatedLevels = new ArrayList<>();
+		Dungeon.gold = 0;
+		Dungeon.energy = 0;
+		Dungeon.chapters = null;
+		Dungeon.droppedItems = null;
+		Dungeon.daily = false;
+		Dungeon.dailyReplay = false;
+		Dungeon.customSeedText = "";
+		Dungeon.seed = 0;
+
+		live = this;
+	}
+
+	//checks that this context's game is still the one in the static fields
+	public void enter(){
+		if (live != this){
+			throw new IllegalStateException("this game has been replaced, only one game can be live in a process");
+		}
+	}
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.ui.QuickSlotButton;
+import com.watabou.noosa.Game;
+import com.watabou.utils.Bundle;
+import com.watabou.utils.PathFinder;
+import com.watabou.utils.Random;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+//An in-memory image of a game in progress, which can be restored any number of times.
+//The run and current level are stored just as a save stores them, but nothing touches the disk, and the
+// image also keeps what a save leaves out: exact actor times and order, fields of view, and the RNG stack.
+//Only the current level is included, so a run which has generated any other level can't be restored from one.
+public class GameSnapshot {
+
+	private static final String GAME        = "game";
+	private static final String LEVEL       = "level";
+	private static final String TIMELINE    = "timeline";
+	private static final String VIEW_DIST   = "view_distance";
+	private static final String LAST_TARGET = "last_target";
+	private static final String FOV_IDS     = "fov_ids";
+	private static final String FOV         = "fov_";
+	private static final String OTHER_LEVELS = "other_levels";
+
+	private final byte[] image;
+	private final byte[] generators;
+
+	private GameSnapshot( byte[] image, byte[] generators ){
+		this.image = image;
+		this.generators = generators;
+	}
+
+	public static GameSnapshot take(){
+		Bundle bundle = new Bundle();
+
+		bundle.put( GAME, Dungeon.storeGame() );
+		bundle.put( LEVEL, Dungeon.level );
+		for (int generated : Dungeon.generatedLevels){
+			if (generated != Dungeon.depth + 1000*Dungeon.branch){
+				bundle.put( OTHER_LEVELS, true );
+				break;
+			}
+		}
+
+		Bundle timeline = new Bundle();
+		Actor.storeTimeline( timeline );
+		bundle.put( TIMELINE, timeline );
+
+		bundle.put( VIEW_DIST, Dungeon.hero.viewDistance );
+		if (QuickSlotButton.lastTarget != null){
+			bundle.put( LAST_TARGET, QuickSlotButton.lastTarget.id() );
+		}
+
+		//characters only refresh their field of view when they act, so a recalculated one could differ
+		ArrayList<Integer> fovIDs = new ArrayList<>();
+		for (Char ch : Actor.chars()){
+			if (ch != Dungeon.hero && ch.fieldOfView != null){
+				fovIDs.add( ch.id() );
+				bundle.put( FOV + ch.id(), pack( ch.fieldOfView ) );
+			}
+		}
+		int[] ids = new int[fovIDs.size()];
+		for (int i = 0; i < ids.length; i++){
+			ids[i] = fovIDs.get(i);
+		}
+		bundle.put( FOV_IDS, ids );
+
+		return new GameSnapshot( Bundle.toBytes( bundle ), Random.saveGenerators() );
+	}
+
+	//the size of this snapshot in memory, in bytes
+	public int size(){
+		return image.length + generators.length;
+	}
+
+	//the snapshot as a single array, so it can be written out and read back in another process
+	public byte[] toBytes(){
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream( size() + 8 );
+		DataOutputStream out = new DataOutputStream( bytes );
+		try {
+			out.writeInt( image.length );
+			out.write( image );
+			out.writeInt( generators.length );
+			out.write( generators );
+			out.close();
+		} catch (IOException e) {
+			//can't happen when writing to memory
+			Game.reportException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	public static GameSnapshot fromBytes( byte[] bytes ) throws IOException {
+		DataInputStream in = new DataInputStream( new ByteArrayInputStream( bytes ) );
+		byte[] image = new byte[in.readInt()];
+		in.readFully( image );
+		byte[] generators = new byte[in.readInt()];
+		in.readFully( generators );
+		return new GameSnapshot( image, generators );
+	}
+
+	//the image as a bundle. Restoring only reads from it, so one decoded bundle can be restored from any number of times
+	public Bundle decode(){
+		return Bundle.fromBytes( image );
+	}
+
+	public void restore() throws IOException {
+		restore( decode() );
+	}
+
+	public void restore( Bundle bundle ) throws IOException {
+		if (bundle.getBoolean( OTHER_LEVELS )){
+			throw new IllegalArgumentException( "snapshot depends on levels which it does not contain" );
+		}
+
+		Dungeon.restoreGame( bundle.getBundle( GAME ), true );
+
+		Level level = (Level)bundle.get( LEVEL );
+		if (level == null){
+			throw new IOException();
+		}
+		PathFinder.setMapSize( level.width(), level.height() );
+		Dungeon.level = level;
+
+		//actors are added while the clock is still at 0, so their stored times are kept exactly
+		Actor.init();
+		level.restoreRespawner();
+		Actor.restoreTimeline( bundle.getBundle( TIMELINE ) );
+
+		Dungeon.hero.viewDistance = bundle.getInt( VIEW_DIST );
+		if (bundle.contains( LAST_TARGET )){
+			QuickSlotButton.lastTarget = (Char)Actor.findById( bundle.getInt( LAST_TARGET ) );
+		}
+
+		for (int id : bundle.getIntArray( FOV_IDS )){
+			Actor ch = Actor.findById( id );
+			if (ch instanceof Char){
+				((Char) ch).fieldOfView = unpack( bundle.getLongArray( FOV + id ), level.length() );
+			}
+		}
+
+		//the hero's view and visible enemies are exactly what it last observed, so observe again
+		Dungeon.hero.fieldOfView = level.heroFOV;
+		Dungeon.observe();
+		Dungeon.hero.checkVisibleMobs();
+
+		//restoring items and levels consumes random numbers, so the generators are restored last
+		Random.restoreGenerators( generators );
+	}
+
+	private static long[] pack( boolean[] cells ){
+		long[] bits = new long[(cells.length + 63) / 64];
+		for (int i = 0; i < cells.length; i++){
+			if (cells[i]) bits[i >> 6] |= 1L << (i & 63);
+		}
+		return bits;
+	}
+
+	private static boolean[] unpack( long[] bits, int length ){
+		boolean[] cells = new boolean[length];
+		for (int i = 0; i < length; i++){
+			cells[i] = (bits[i >> 6] & (1L << (i & 63))) != 0;
+		}
+		return cells;
+	}
+
+}
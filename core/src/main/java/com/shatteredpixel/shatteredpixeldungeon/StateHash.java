@@ -0,0 +1,156 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Blob;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Buff;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.Hero;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
+import com.shatteredpixel.shatteredpixeldungeon.items.Heap;
+import com.shatteredpixel.shatteredpixeldungeon.items.Item;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.watabou.utils.Random;
+
+//A 64-bit hash of the game state, for checking that two runs have not diverged.
+//Each feature (a terrain cell, a character, a buff, an item...) is mixed into its own 64-bit key
+// and the keys are combined with xor, as in Zobrist hashing, so the order of collections doesn't matter.
+//Nothing is copied, only collection iterators are allocated.
+//The whole hash is recomputed on each call rather than kept up to date as the state changes:
+// terrain, positions and HP are public fields written directly from many places (not just Level.set),
+// so an incrementally kept hash would quietly go stale. A full recompute takes tens of microseconds,
+// so callers which step a lot should only compute it when something will compare it.
+public class StateHash {
+
+	//feature kinds, so that equal values in different features don't produce the same key
+	private static final int TERRAIN    = 1;
+	private static final int CHAR       = 2;
+	private static final int CHAR_HP    = 3;
+	private static final int CHAR_TIME  = 4;
+	private static final int BUFF       = 5;
+	private static final int HEAP       = 6;
+	private static final int ITEM       = 7;
+	private static final int BLOB       = 8;
+	private static final int HERO       = 9;
+	private static final int RUN        = 10;
+	private static final int MOB_STATE  = 11;
+
+	public static long compute(){
+		long hash = key( RUN, Dungeon.depth, Dungeon.gold );
+		hash ^= key( RUN, Dungeon.branch, Float.floatToIntBits( Actor.now() ) );
+		hash ^= Random.stateHash();
+
+		Level level = Dungeon.level;
+		if (level != null){
+			hash ^= level( level );
+		}
+
+		Hero hero = Dungeon.hero;
+		if (hero != null){
+			hash ^= character( hero );
+			hash ^= key( HERO, hero.lvl, hero.exp );
+			hash ^= key( HERO, hero.STR, hero.belongings.backpack.items.size() );
+			int i = 0;
+			for (Item item : hero.belongings){
+				hash ^= item( ITEM, i++, item );
+			}
+		}
+
+		return hash;
+	}
+
+	private static long level( Level level ){
+		//the map is always walked in the same order, so a cheaper polynomial hash is enough for it
+		long terrain = 0;
+		for (int cell : level.map){
+			terrain = terrain * 0x9E3779B97F4A7C15L + cell;
+		}
+		long hash = key( TERRAIN, level.width(), level.height(), (int)mix( terrain ) );
+
+		for (Mob mob : level.mobs){
+			hash ^= character( mob );
+			hash ^= key( MOB_STATE, mob.id(), name( mob.state ) );
+		}
+
+		for (Heap heap : level.heaps.values()){
+			hash ^= key( HEAP, heap.pos, heap.type.ordinal() );
+			int i = 0;
+			for (Item item : heap.items){
+				hash ^= item( HEAP, heap.pos * 31 + i++, item );
+			}
+		}
+
+		for (Blob blob : level.blobs.values()){
+			hash ^= key( BLOB, name( blob ), blob.volume );
+			if (blob.volume > 0 && blob.cur != null){
+				for (int y = blob.area.top; y < blob.area.bottom; y++){
+					for (int x = blob.area.left; x < blob.area.right; x++){
+						int cell = x + y * level.width();
+						if (blob.cur[cell] != 0){
+							hash ^= key( BLOB, name( blob ), cell, blob.cur[cell] );
+						}
+					}
+				}
+			}
+		}
+
+		return hash;
+	}
+
+	private static long character( Char ch ){
+		long hash = key( CHAR, ch.id(), ch.pos );
+		hash ^= key( CHAR_HP, ch.id(), ch.HP * 31 + ch.HT );
+		hash ^= key( CHAR_TIME, ch.id(), Float.floatToIntBits( ch.cooldown() ) );
+		//the buff's place in the list is mixed in too, otherwise two identical buffs (e.g. from Buff.append) would cancel out
+		int i = 0;
+		for (Buff buff : ch.buffs()){
+			hash ^= key( BUFF, ch.id(), name( buff ) * 31 + i++, Float.floatToIntBits( buff.cooldown() ) );
+		}
+		return hash;
+	}
+
+	private static long item( int kind, int slot, Item item ){
+		return key( kind, slot, name( item ), item.quantity() * 31 + item.level() );
+	}
+
+	//class names rather than identity hashes, so hashes can be compared between processes
+	private static int name( Object o ){
+		return o == null ? 0 : o.getClass().getName().hashCode();
+	}
+
+	private static long key( int kind, int a, int b ){
+		return mix( mix( ((long)kind << 32) | (a & 0xFFFFFFFFL) ) + b );
+	}
+
+	private static long key( int kind, int a, int b, int c ){
+		return mix( key( kind, a, b ) + c );
+	}
+
+	//the finalizer of SplitMix64, every input bit affects every output bit
+	private static long mix( long z ){
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
@@ -32,7 +32,9 @@ import com.watabou.utils.Bundlable;
 import com.watabou.utils.Bundle;
 import com.watabou.utils.SparseArray;
 
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 
 public abstract class Actor implements Bundlable {
 	
@@ -42,6 +44,9 @@ public abstract class Actor implements Bundlable {
 
 	private int id = 0;
 
+	//position in the turn queue, or -1 if not queued
+	private int queueIndex = -1;
+
 	//default priority values for general actor categories
 	//note that some specific actors pick more specific values
 	//e.g. a buff acting before all normal buffs might have priority BUFF_PRIO + 1
@@ -65,6 +70,7 @@ public abstract class Actor implements Bundlable {
 		if (ex < .001f){
 			this.time = Math.round(this.time);
 		}
+		requeue( this );
 	}
 
 	//sends time, but the amount can be influenced
@@ -74,6 +80,7 @@ public abstract class Actor implements Bundlable {
 
 	public void spendToWhole(){
 		time = (float)Math.ceil(time);
+		requeue( this );
 	}
 	
 	protected void postpone( float time ) {
@@ -84,6 +91,7 @@ public abstract class Actor implements Bundlable {
 			if (ex < .001f){
 				this.time = Math.round(this.time);
 			}
+			requeue( this );
 		}
 	}
 	
@@ -102,10 +110,12 @@ public abstract class Actor implements Bundlable {
 
 	public void timeToNow() {
 		time = now;
+		requeue( this );
 	}
 	
 	protected void diactivate() {
 		time = Float.MAX_VALUE;
+		requeue( this );
 	}
 	
 	protected void onAdd() {}
@@ -144,8 +154,15 @@ public abstract class Actor implements Bundlable {
 	// *** Static members ***
 	// **********************
 	
-	private static HashSet<Actor> all = new HashSet<>();
-	private static HashSet<Char> chars = new HashSet<>();
+	private static HashSet<Actor> all = new LinkedHashSet<>();
+	private static HashSet<Char> chars = new LinkedHashSet<>();
+	private static TurnQueue queue = new TurnQueue();
+
+	//the character on each cell of the level, so that findChar doesn't need to search every character.
+	//Characters are indexed at their position while they are added, and re-indexed whenever it is set.
+	//Cells with several characters on them are searched, so findChar returns the same one it always has.
+	private static Char[] occupants = new Char[0];
+	private static int[] occupantCounts = new int[0];
 	private static volatile Actor current;
 
 	private static SparseArray<Actor> ids = new SparseArray<>();
@@ -162,7 +179,13 @@ public abstract class Actor implements Bundlable {
 		now = 0;
 
 		all.clear();
+		for (Char ch : chars){
+			ch.occupiedCell = -1;
+		}
 		chars.clear();
+		queue.clear();
+		occupants = new Char[0];
+		occupantCounts = new int[0];
 
 		ids.clear();
 	}
@@ -184,6 +207,8 @@ public abstract class Actor implements Bundlable {
 		for (Actor a : all) {
 			a.time -= min;
 		}
+		//shifting can round some times together, so re-order rather than assume order is preserved
+		queue.rebuild();
 
 		if (Dungeon.hero != null && all.contains( Dungeon.hero ) && !(Dungeon.level instanceof VaultLevel)) {
 			Statistics.duration += min;
@@ -225,6 +250,46 @@ public abstract class Actor implements Bundlable {
 		nextID = 1;
 	}
 
+	private static final String NOW     = "now";
+	private static final String ORDER   = "order";
+
+	//a save rebases actor times and re-adds actors in a fixed order, so neither the current time nor
+	// the order actors are iterated in survive it. Resuming a game exactly, see GameSnapshot, needs both.
+	public static synchronized void storeTimeline( Bundle bundle ){
+		bundle.put( NOW, now );
+
+		int[] order = new int[all.size()];
+		int count = 0;
+		for (Actor a : all){
+			order[count++] = a.id;
+		}
+		bundle.put( ORDER, order );
+	}
+
+	//should be called once restored actors have been added, as adding an actor offsets it by the current time
+	public static synchronized void restoreTimeline( Bundle bundle ){
+		now = bundle.getFloat( NOW );
+
+		LinkedHashSet<Actor> ordered = new LinkedHashSet<>();
+		for (int id : bundle.getIntArray( ORDER )){
+			Actor a = ids.get( id );
+			if (a != null && all.contains( a )){
+				ordered.add( a );
+			}
+		}
+		//anything not in the stored order keeps its place after everything that is
+		ordered.addAll( all );
+
+		all.clear();
+		chars.clear();
+		for (Actor a : ordered){
+			all.add( a );
+			if (a instanceof Char){
+				chars.add( (Char)a );
+			}
+		}
+	}
+
 	/*protected*/public void next() {
 		if (current == this) {
 			current = null;
@@ -250,18 +315,7 @@ public abstract class Actor implements Bundlable {
 			
 			current = null;
 			if (!interrupted && !Game.switchingScene()) {
-				float earliest = Float.MAX_VALUE;
-
-				for (Actor actor : all) {
-					
-					//some actors will always go before others if time is equal.
-					if (actor.time < earliest ||
-							actor.time == earliest && (current == null || actor.actPriority > current.actPriority)) {
-						earliest = actor.time;
-						current = actor;
-					}
-					
-				}
+				current = nextActor();
 			}
 
 			if  (current != null) {
@@ -323,6 +377,50 @@ public abstract class Actor implements Bundlable {
 		} while (keepActorThreadAlive);
 	}
 	
+	public interface Condition {
+		boolean met();
+	}
+
+	//Processes actors on the calling thread until the condition is met, nothing is able to act,
+	// the hero dies, or maxActs actors have acted. Returns the number of actors that acted.
+	//Unlike process() this never waits on sprite movement or hands off to another thread, so it is
+	// suitable for driving the game without a renderer. An actor that returns false from act() is
+	// treated as finished, as there are no animations to wait on.
+	public static int processUntil( Condition condition, int maxActs ) {
+		int acted = 0;
+		try {
+			while (acted < maxActs && !condition.met()) {
+				Actor acting = current = nextActor();
+				if (acting == null) {
+					break;
+				}
+
+				now = acting.time;
+				acted++;
+				acting.act();
+				current = null;
+
+				if (Dungeon.hero == null || !Dungeon.hero.isAlive()) {
+					break;
+				}
+			}
+		} finally {
+			current = null;
+		}
+		return acted;
+	}
+
+	private static synchronized void requeue( Actor actor ){
+		queue.update( actor );
+	}
+
+	//the actor which should act next: the earliest, then highest priority, then oldest id
+	public static synchronized Actor nextActor() {
+		Actor next = queue.peek();
+		//actors with infinite time are never scheduled
+		return next != null && next.time <= Float.MAX_VALUE ? next : null;
+	}
+	
 	public static void add( Actor actor ) {
 		add( actor, now );
 	}
@@ -341,11 +439,13 @@ public abstract class Actor implements Bundlable {
 
 		all.add( actor );
 		actor.time += time;
+		queue.add( actor );
 		actor.onAdd();
 		
 		if (actor instanceof Char) {
 			Char ch = (Char)actor;
 			chars.add( ch );
+			occupy( ch );
 			for (Buff buff : ch.buffs()) {
 				add(buff);
 			}
@@ -356,7 +456,10 @@ public abstract class Actor implements Bundlable {
 		
 		if (actor != null) {
 			all.remove( actor );
-			chars.remove( actor );
+			if (chars.remove( actor )){
+				vacate( (Char)actor );
+			}
+			queue.remove( actor );
 			actor.onRemove();
 
 			if (actor.id > 0) {
@@ -375,6 +478,13 @@ public abstract class Actor implements Bundlable {
 	}
 	
 	public static synchronized Char findChar( int pos ) {
+		if (occupants.length != levelLength()){
+			indexChars();
+		}
+		if (pos >= 0 && pos < occupants.length && occupantCounts[pos] <= 1){
+			return occupants[pos];
+		}
+
 		for (Char ch : chars){
 			if (ch.pos == pos)
 				return ch;
@@ -382,13 +492,176 @@ public abstract class Actor implements Bundlable {
 		return null;
 	}
 
+	//called when a character's position is set, see Char.setPos
+	static synchronized void moveChar( Char ch ){
+		if (ch.occupiedCell != ch.pos && (ch.occupiedCell != -1 || chars.contains( ch ))){
+			vacate( ch );
+			occupy( ch );
+		}
+	}
+
+	private static int levelLength(){
+		return Dungeon.level == null ? 0 : Dungeon.level.length();
+	}
+
+	private static void indexChars(){
+		int length = levelLength();
+		occupants = new Char[length];
+		occupantCounts = new int[length];
+		for (Char ch : chars){
+			ch.occupiedCell = -1;
+			occupy( ch );
+		}
+	}
+
+	private static void occupy( Char ch ){
+		if (occupants.length != levelLength()){
+			//indexes this character too, as it has already been added
+			indexChars();
+			return;
+		}
+		int cell = ch.pos;
+		if (cell >= 0 && cell < occupants.length){
+			ch.occupiedCell = cell;
+			if (occupantCounts[cell]++ == 0){
+				occupants[cell] = ch;
+			}
+		} else {
+			ch.occupiedCell = -1;
+		}
+	}
+
+	private static void vacate( Char ch ){
+		int cell = ch.occupiedCell;
+		if (cell == -1){
+			return;
+		}
+		ch.occupiedCell = -1;
+
+		int count = --occupantCounts[cell];
+		if (count == 0){
+			occupants[cell] = null;
+		} else if (count == 1){
+			//the cell isn't shared anymore, find who is left
+			for (Char other : chars){
+				if (other.occupiedCell == cell){
+					occupants[cell] = other;
+					break;
+				}
+			}
+		}
+	}
+
 	public static synchronized Actor findById( int id ) {
 		return ids.get( id );
 	}
 
 	public static synchronized HashSet<Actor> all() {
-		return new HashSet<>(all);
+		return new LinkedHashSet<>(all);
 	}
 
-	public static synchronized HashSet<Char> chars() { return new HashSet<>(chars); }
+	public static synchronized HashSet<Char> chars() { return new LinkedHashSet<>(chars); }
+
+	//indexed binary min-heap over every added actor, ordered by time, then priority, then id.
+	//each actor knows its own position, so changes to its time re-order it in place.
+	private static final class TurnQueue {
+
+		private Actor[] heap = new Actor[64];
+		private int size = 0;
+
+		private Actor peek(){
+			return size > 0 ? heap[0] : null;
+		}
+
+		private boolean contains( Actor a ){
+			return a.queueIndex >= 0 && a.queueIndex < size && heap[a.queueIndex] == a;
+		}
+
+		private void add( Actor a ){
+			if (size == heap.length){
+				heap = Arrays.copyOf(heap, size*2);
+			}
+			heap[size] = a;
+			a.queueIndex = size;
+			size++;
+			siftUp(a.queueIndex);
+		}
+
+		private void remove( Actor a ){
+			if (!contains(a)) return;
+
+			int i = a.queueIndex;
+			a.queueIndex = -1;
+			size--;
+			Actor last = heap[size];
+			heap[size] = null;
+			if (i < size){
+				heap[i] = last;
+				last.queueIndex = i;
+				if (!siftUp(i)) siftDown(i);
+			}
+		}
+
+		private void update( Actor a ){
+			if (!contains(a)) return;
+
+			if (!siftUp(a.queueIndex)) siftDown(a.queueIndex);
+		}
+
+		private void clear(){
+			for (int i = 0; i < size; i++){
+				heap[i].queueIndex = -1;
+				heap[i] = null;
+			}
+			size = 0;
+		}
+
+		private void rebuild(){
+			for (int i = size/2 - 1; i >= 0; i--){
+				siftDown(i);
+			}
+		}
+
+		private static boolean before( Actor a, Actor b ){
+			if (a.time != b.time)               return a.time < b.time;
+			if (a.actPriority != b.actPriority) return a.actPriority > b.actPriority;
+			return a.id < b.id;
+		}
+
+		private boolean siftUp( int i ){
+			Actor a = heap[i];
+			int start = i;
+			while (i > 0){
+				int parent = (i - 1) >>> 1;
+				Actor p = heap[parent];
+				if (!before(a, p)) break;
+				heap[i] = p;
+				p.queueIndex = i;
+				i = parent;
+			}
+			heap[i] = a;
+			a.queueIndex = i;
+			return i != start;
+		}
+
+		private void siftDown( int i ){
+			Actor a = heap[i];
+			int half = size >>> 1;
+			while (i < half){
+				int child = 2*i + 1;
+				Actor c = heap[child];
+				int right = child + 1;
+				if (right < size && before(heap[right], c)){
+					child = right;
+					c = heap[child];
+				}
+				if (!before(c, a)) break;
+				heap[i] = c;
+				c.queueIndex = i;
+				i = child;
+			}
+			heap[i] = a;
+			a.queueIndex = i;
+		}
+	}
 }
@@ -0,0 +1,157 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+
+package com.shatteredpixel.shatteredpixeldungeon.actors;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Buff;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+//The buffs attached to a character, indexed by class.
+//Buffs keep the order they were added in, which is also the order they are saved in.
+//Every class a buff extends has its own list of buffs, so finding all buffs of a class doesn't check
+// every buff, and the first buff of each exact class is kept in a map of its own.
+//Lists are replaced rather than changed as buffs come and go. A list which has been handed out can
+// be iterated safely while buffs are added or removed, but it won't reflect those changes.
+class BuffSet {
+
+	private final HashMap<Class<?>, Group> groups = new HashMap<>();
+	private final HashMap<Class<?>, Buff> exact = new HashMap<>();
+
+	public boolean add( Buff buff ){
+		if (contains( buff )){
+			return false;
+		}
+
+		Class<?> c = buff.getClass();
+		if (!exact.containsKey( c )){
+			exact.put( c, buff );
+		}
+
+		while (true){
+			Group group = groups.get( c );
+			if (group == null){
+				groups.put( c, new Group( buff ) );
+			} else {
+				group.add( buff );
+			}
+			if (c == Buff.class) break;
+			c = c.getSuperclass();
+		}
+		return true;
+	}
+
+	public boolean remove( Buff buff ){
+		if (!contains( buff )){
+			return false;
+		}
+
+		Class<?> c = buff.getClass();
+		while (true){
+			Group group = groups.get( c );
+			group.remove( buff );
+			if (group.buffs.length == 0){
+				groups.remove( c );
+			}
+			if (c == Buff.class) break;
+			c = c.getSuperclass();
+		}
+
+		//another buff of the same class may now be the first one
+		c = buff.getClass();
+		if (exact.get( c ) == buff){
+			exact.remove( c );
+			Group group = groups.get( c );
+			if (group != null){
+				for (Buff b : group.buffs){
+					if (b.getClass() == c){
+						exact.put( c, b );
+						break;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	public boolean contains( Buff buff ){
+		Group group = groups.get( buff.getClass() );
+		return group != null && group.indexOf( buff ) != -1;
+	}
+
+	//every buff, in the order they were added
+	public List<Buff> all(){
+		return all( Buff.class );
+	}
+
+	//every buff which is an instance of the given class, in the order they were added
+	@SuppressWarnings("unchecked")
+	public <T extends Buff> List<T> all( Class<T> c ){
+		Group group = groups.get( c );
+		return group == null ? Collections.<T>emptyList() : (List<T>)group.view;
+	}
+
+	//the first buff added of exactly the given class
+	@SuppressWarnings("unchecked")
+	public <T extends Buff> T get( Class<T> c ){
+		return (T)exact.get( c );
+	}
+
+	private static class Group {
+
+		private Buff[] buffs;
+		private List<Buff> view;
+
+		private Group( Buff buff ){
+			set( new Buff[]{ buff } );
+		}
+
+		private void add( Buff buff ){
+			Buff[] added = Arrays.copyOf( buffs, buffs.length + 1 );
+			added[buffs.length] = buff;
+			set( added );
+		}
+
+		private void remove( Buff buff ){
+			int index = indexOf( buff );
+			Buff[] removed = new Buff[buffs.length - 1];
+			System.arraycopy( buffs, 0, removed, 0, index );
+			System.arraycopy( buffs, index + 1, removed, index, removed.length - index );
+			set( removed );
+		}
+
+		private int indexOf( Buff buff ){
+			for (int i = 0; i < buffs.length; i++){
+				if (buffs[i] == buff) return i;
+			}
+			return -1;
+		}
+
+		private void set( Buff[] buffs ){
+			this.buffs = buffs;
+			view = Collections.unmodifiableList( Arrays.asList( buffs ) );
+		}
+	}
+}
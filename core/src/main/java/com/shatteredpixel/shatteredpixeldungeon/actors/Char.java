@@ -160,11 +160,14 @@ import com.watabou.utils.Random;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.List;
 
 public abstract class Char extends Actor {
 	
+	//only change this through setPos() or move(), so that Actor.findChar() can find this character
 	public int pos = 0;
+	//the cell this character is indexed at for Actor.findChar(), or -1
+	int occupiedCell = -1;
 	
 	public CharSprite sprite;
 	
@@ -191,7 +194,7 @@ public abstract class Char extends Actor {
 	
 	public boolean[] fieldOfView = null;
 	
-	private LinkedHashSet<Buff> buffs = new LinkedHashSet<>();
+	private final BuffSet buffs = new BuffSet();
 	
 	@Override
 	protected boolean act() {
@@ -272,8 +275,8 @@ public abstract class Char extends Actor {
 			if (PathFinder.distance[pos] == Integer.MAX_VALUE){
 				return true;
 			}
-			pos = newPos;
-			c.pos = oldPos;
+			setPos( newPos );
+			c.setPos( oldPos );
 			ScrollOfTeleportation.appear(this, newPos);
 			ScrollOfTeleportation.appear(c, oldPos);
 			Dungeon.observe();
@@ -287,11 +290,11 @@ public abstract class Char extends Actor {
 			return true;
 		}
 
-		c.pos = oldPos;
+		c.setPos( oldPos );
 		moveSprite( oldPos, newPos );
 		move( newPos );
 
-		c.pos = newPos;
+		c.setPos( newPos );
 		c.sprite.move( newPos, oldPos );
 		c.move( oldPos );
 		
@@ -310,7 +313,9 @@ public abstract class Char extends Actor {
 	
 	protected boolean moveSprite( int from, int to ) {
 		
-		if (sprite.isVisible() && sprite.parent != null && (Dungeon.level.heroFOV[from] || Dungeon.level.heroFOV[to])) {
+		if (sprite == null) {
+			return true;
+		} else if (sprite.isVisible() && sprite.parent != null && (Dungeon.level.heroFOV[from] || Dungeon.level.heroFOV[to])) {
 			sprite.move( from, to );
 			return true;
 		} else {
@@ -342,7 +347,7 @@ public abstract class Char extends Actor {
 		bundle.put( POS, pos );
 		bundle.put( TAG_HP, HP );
 		bundle.put( TAG_HT, HT );
-		bundle.put( BUFFS, buffs );
+		bundle.put( BUFFS, buffs.all() );
 	}
 	
 	@Override
@@ -821,13 +826,12 @@ public abstract class Char extends Actor {
 		}
 
 		if (!(src instanceof LifeLink || src instanceof Hunger) && buff(LifeLink.class) != null){
-			HashSet<LifeLink> links = buffs(LifeLink.class);
-			for (LifeLink link : links.toArray(new LifeLink[0])){
+			for (LifeLink link : buffs(LifeLink.class)){
 				if (Actor.findById(link.object) == null){
-					links.remove(link);
 					link.detach();
 				}
 			}
+			List<LifeLink> links = buffs(LifeLink.class);
 			dmg = (int)Math.ceil(dmg / (float)(links.size()+1));
 			for (LifeLink link : links){
 				Char ch = (Char)Actor.findById(link.object);
@@ -941,7 +945,7 @@ public abstract class Char extends Actor {
 				// or the hit will reduce it to half or below
 				&& (HP <= HT/2 || HP + shielding() - dmg <= HT/2)
 				&& shield != null && !shield.coolingDown()){
-			sprite.showStatusWithIcon(CharSprite.POSITIVE, Integer.toString(buff(BrokenSeal.WarriorShield.class).maxShield()), FloatingText.SHIELDING);
+			if (sprite != null) sprite.showStatusWithIcon(CharSprite.POSITIVE, Integer.toString(buff(BrokenSeal.WarriorShield.class).maxShield()), FloatingText.SHIELDING);
 			shield.activate();
 		}
 
@@ -1080,7 +1084,7 @@ public abstract class Char extends Actor {
 	
 	public void die( Object src ) {
 		destroy();
-		if (src != Chasm.class) {
+		if (src != Chasm.class && sprite != null) {
 			sprite.die();
 			if (!flying && Dungeon.level != null && sprite instanceof MobSprite && Dungeon.level.map[pos] == Terrain.CHASM){
 				((MobSprite) sprite).fall();
@@ -1135,37 +1139,26 @@ public abstract class Char extends Actor {
 		super.spend( time / timeScale );
 	}
 	
-	public synchronized LinkedHashSet<Buff> buffs() {
-		return new LinkedHashSet<>(buffs);
+	//the returned lists are read-only and are not changed by later adding or removing buffs,
+	//so they can be iterated while buffs are attached or detached
+	public synchronized List<Buff> buffs() {
+		return buffs.all();
 	}
 	
-	@SuppressWarnings("unchecked")
 	//returns all buffs assignable from the given buff class
-	public synchronized <T extends Buff> HashSet<T> buffs( Class<T> c ) {
-		HashSet<T> filtered = new HashSet<>();
-		for (Buff b : buffs) {
-			if (c.isInstance( b )) {
-				filtered.add( (T)b );
-			}
-		}
-		return filtered;
+	public synchronized <T extends Buff> List<T> buffs( Class<T> c ) {
+		return buffs.all( c );
 	}
 
-	@SuppressWarnings("unchecked")
 	//returns an instance of the specific buff class, if it exists. Not just assignable
 	public synchronized  <T extends Buff> T buff( Class<T> c ) {
-		for (Buff b : buffs) {
-			if (b.getClass() == c) {
-				return (T)b;
-			}
-		}
-		return null;
+		return buffs.get( c );
 	}
 
 	public synchronized boolean isCharmedBy( Char ch ) {
 		int chID = ch.id();
-		for (Buff b : buffs) {
-			if (b instanceof Charm && ((Charm)b).object == chID) {
+		for (Charm c : buffs.all( Charm.class )) {
+			if (c.object == chID) {
 				return true;
 			}
 		}
@@ -1224,13 +1217,13 @@ public abstract class Char extends Actor {
 	
 	@Override
 	protected synchronized void onRemove() {
-		for (Buff buff : buffs.toArray(new Buff[buffs.size()])) {
+		for (Buff buff : buffs.all()) {
 			buff.detach();
 		}
 	}
 	
 	public synchronized void updateSpriteState() {
-		for (Buff buff:buffs) {
+		for (Buff buff : buffs.all()) {
 			buff.fx( true );
 		}
 	}
@@ -1243,6 +1236,12 @@ public abstract class Char extends Actor {
 		return stealth;
 	}
 
+	//sets this character's position directly, without any of the effects of moving there
+	public void setPos( int cell ){
+		pos = cell;
+		Actor.moveChar( this );
+	}
+
 	public final void move( int step ) {
 		move( step, true );
 	}
@@ -1251,14 +1250,14 @@ public abstract class Char extends Actor {
 	public void move( int step, boolean travelling ) {
 
 		if (travelling && Dungeon.level.adjacent( step, pos ) && buff( Vertigo.class ) != null) {
-			sprite.interruptMotion();
+			if (sprite != null) sprite.interruptMotion();
 			int newPos = pos + PathFinder.NEIGHBOURS8[Random.Int( 8 )];
 			if (!(Dungeon.level.passable[newPos] || Dungeon.level.avoid[newPos])
 					|| (properties().contains(Property.LARGE) && !Dungeon.level.openSpace[newPos])
 					|| Actor.findChar( newPos ) != null)
 				return;
 			else {
-				sprite.move(pos, newPos);
+				if (sprite != null) sprite.move(pos, newPos);
 				step = newPos;
 			}
 		}
@@ -1267,9 +1266,9 @@ public abstract class Char extends Actor {
 			Door.leave( pos );
 		}
 
-		pos = step;
+		setPos( step );
 		
-		if (this != Dungeon.hero) {
+		if (this != Dungeon.hero && sprite != null) {
 			sprite.visible = Dungeon.level.heroFOV[pos];
 		}
 		
@@ -1284,6 +1283,11 @@ public abstract class Char extends Actor {
 		//do nothing by default, but some chars can pass over terrain that others can't
 		return passable;
 	}
+
+	//chars which override modifyPassable must also return true here, so shared paths aren't used for them
+	public boolean modifiesPassable(){
+		return false;
+	}
 	
 	public void onMotionComplete() {
 		//Does nothing by default
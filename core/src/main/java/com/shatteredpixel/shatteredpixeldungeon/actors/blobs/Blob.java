@@ -26,10 +26,13 @@ import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
 import com.shatteredpixel.shatteredpixeldungeon.effects.BlobEmitter;
 import com.shatteredpixel.shatteredpixeldungeon.journal.Notes;
 import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.levels.SpreadMap;
 import com.watabou.utils.Bundle;
 import com.watabou.utils.Rect;
 import com.watabou.utils.Reflection;
 
+import java.util.Arrays;
+
 public class Blob extends Actor {
 
 	{
@@ -50,6 +53,7 @@ public class Blob extends Actor {
 	private static final String CUR		= "cur";
 	private static final String START	= "start";
 	private static final String LENGTH	= "length";
+	private static final String AREA	= "area";
 	
 	@Override
 	public void storeInBundle( Bundle bundle ) {
@@ -73,6 +77,9 @@ public class Blob extends Actor {
 			bundle.put( START, start );
 			bundle.put( LENGTH, cur.length );
 			bundle.put( CUR, trim( start, end + 1 ) );
+
+			//the area only grows while the blob is active, and it affects how the blob spreads at its edges
+			bundle.put( AREA, new int[]{area.left, area.top, area.right, area.bottom} );
 			
 		}
 	}
@@ -101,6 +108,12 @@ public class Blob extends Actor {
 				volume += data[i];
 			}
 
+			//older saves don't have an area, it is set up again on the next act
+			if (bundle.contains( AREA )) {
+				int[] bounds = bundle.getIntArray( AREA );
+				area.set( bounds[0], bounds[1], bounds[2], bounds[3] );
+			}
+
 		}
 	}
 	
@@ -146,57 +159,93 @@ public class Blob extends Actor {
 	
 	protected void evolve() {
 		
-		boolean[] blocking = Dungeon.level.solid;
+		byte[] spread = SpreadMap.get( Dungeon.level );
+		int width = Dungeon.level.width();
 		int cell;
-		for (int i=area.top-1; i <= area.bottom; i++) {
-			for (int j = area.left-1; j <= area.right; j++) {
-				cell = j + i*Dungeon.level.width();
-				if (Dungeon.level.insideMap(cell)) {
-					if (!blocking[cell]) {
-
-						int count = 1;
-						int sum = cur[cell];
-
-						if (j > area.left && !blocking[cell-1]) {
-							sum += cur[cell-1];
-							count++;
-						}
-						if (j < area.right && !blocking[cell+1]) {
-							sum += cur[cell+1];
-							count++;
-						}
-						if (i > area.top && !blocking[cell-Dungeon.level.width()]) {
-							sum += cur[cell-Dungeon.level.width()];
-							count++;
-						}
-						if (i < area.bottom && !blocking[cell+Dungeon.level.width()]) {
-							sum += cur[cell+Dungeon.level.width()];
-							count++;
-						}
-
-						int value = sum >= count ? (sum / count) - 1 : 0;
-						off[cell] = value;
-
-						if (value > 0){
-							if (i < area.top)
-								area.top = i;
-							else if (i >= area.bottom)
-								area.bottom = i+1;
-							if (j < area.left)
-								area.left = j;
-							else if (j >= area.right)
-								area.right = j+1;
-						}
-
-						volume += value;
-					} else {
-						off[cell] = 0;
+		//rows and columns on the edge of the map are skipped, as blobs never enter them
+		for (int i=Math.max( area.top-1, 1 ); i <= Math.min( area.bottom, Dungeon.level.height()-2 ); i++) {
+
+			//rows with none of this blob in or next to them stay empty, so are just cleared
+			if (!occupied( i-1, i+1 )){
+				clearRow( i );
+				continue;
+			}
+
+			for (int j = Math.max( area.left-1, 1 ); j <= Math.min( area.right, width-2 ); j++) {
+				cell = j + i*width;
+				int open = spread[cell];
+				if (open != 0) {
+
+					int count = 1;
+					int sum = cur[cell];
+
+					if (j > area.left && (open & SpreadMap.LEFT) != 0) {
+						sum += cur[cell-1];
+						count++;
+					}
+					if (j < area.right && (open & SpreadMap.RIGHT) != 0) {
+						sum += cur[cell+1];
+						count++;
+					}
+					if (i > area.top && (open & SpreadMap.UP) != 0) {
+						sum += cur[cell-width];
+						count++;
+					}
+					if (i < area.bottom && (open & SpreadMap.DOWN) != 0) {
+						sum += cur[cell+width];
+						count++;
 					}
+
+					int value = sum >= count ? (sum / count) - 1 : 0;
+					off[cell] = value;
+
+					if (value > 0){
+						if (i < area.top)
+							area.top = i;
+						else if (i >= area.bottom)
+							area.bottom = i+1;
+						if (j < area.left)
+							area.left = j;
+						else if (j >= area.right)
+							area.right = j+1;
+					}
+
+					volume += value;
+				} else {
+					off[cell] = 0;
 				}
 			}
 		}
 	}
 
+	//whether any cell in rows top to bottom, from one left of the area to its right edge, holds some of this blob.
+	//This covers every cell evolve reads when working on the rows between them
+	private boolean occupied( int top, int bottom ){
+		int width = Dungeon.level.width();
+		for (int i = top; i <= bottom; i++){
+			int start = Math.max( 0, area.left-1 + i*width );
+			int end = Math.min( cur.length-1, area.right + i*width );
+			int any = 0;
+			for (int cell = start; cell <= end; cell++){
+				any |= cur[cell];
+			}
+			if (any != 0){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	//does what evolve does to a row with no blob in or next to it, which is clear it within the map
+	private void clearRow( int row ){
+		int width = Dungeon.level.width();
+		int left = Math.max( 1, area.left-1 );
+		int right = Math.min( width-2, area.right );
+		if (left <= right){
+			Arrays.fill( off, left + row*width, right + row*width + 1, 0 );
+		}
+	}
+
 	public void seed( Level level, int cell, int amount ) {
 		if (cur == null) cur = new int[level.length()];
 		if (off == null) off = new int[cur.length];
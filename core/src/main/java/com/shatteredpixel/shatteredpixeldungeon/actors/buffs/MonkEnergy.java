@@ -510,7 +510,7 @@ public class MonkEnergy extends Buff implements ActionIndicator.Action {
 						if (Dungeon.level.map[hero.pos] == Terrain.OPEN_DOOR) {
 							Door.leave( hero.pos );
 						}
-						hero.pos = target;
+						hero.setPos( target );
 						Dungeon.level.occupyCell(hero);
 						hero.next();
 					}
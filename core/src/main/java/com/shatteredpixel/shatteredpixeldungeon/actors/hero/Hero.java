@@ -185,7 +185,6 @@ import com.watabou.utils.Point;
 import com.watabou.utils.Random;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedHashMap;
 
 public class Hero extends Char {
@@ -717,10 +716,10 @@ public class Hero extends Char {
 		
 		Momentum momentum = buff(Momentum.class);
 		if (momentum != null){
-			((HeroSprite)sprite).sprint( momentum.freerunning() ? 1.5f : 1f );
+			if (sprite != null) ((HeroSprite)sprite).sprint( momentum.freerunning() ? 1.5f : 1f );
 			speed *= momentum.speedMultiplier();
 		} else {
-			((HeroSprite)sprite).sprint( 1f );
+			if (sprite != null) ((HeroSprite)sprite).sprint( 1f );
 		}
 
 		NaturesPower.naturesPowerTracker natStrength = buff(NaturesPower.naturesPowerTracker.class);
@@ -933,13 +932,16 @@ public class Hero extends Char {
 	}
 	
 	private void ready() {
-		if (sprite.looping()) sprite.idle();
+		if (sprite != null && sprite.looping()) sprite.idle();
 		curAction = null;
 		damageInterrupt = true;
 		waitOrPickup = false;
 		ready = true;
 		canSelfTrample = true;
 
+		//nothing to update if the game is being run without a scene, e.g. headless
+		if (!(ShatteredPixelDungeon.scene() instanceof GameScene)) return;
+
 		AttackIndicator.updateState();
 		
 		GameScene.ready();
@@ -999,7 +1001,7 @@ public class Hero extends Char {
 		if (ch.isAlive() && ch.canInteract(this)) {
 			
 			ready();
-			sprite.turnTo( pos, ch.pos );
+			if (sprite != null) sprite.turnTo( pos, ch.pos );
 			return ch.interact(this);
 			
 		} else {
@@ -1122,7 +1124,7 @@ public class Hero extends Char {
 					//allow the hero to move between levels even if they can't collect the item
 					if (Dungeon.level.getTransition(pos) != null){
 						throwItems();
-					} else {
+					} else if (heap.sprite != null) {
 						heap.sprite.drop();
 					}
 
@@ -1183,7 +1185,11 @@ public class Hero extends Char {
 					Sample.INSTANCE.play( Assets.Sounds.UNLOCK );
 				}
 				
-				sprite.operate( dst );
+				if (sprite != null) {
+					sprite.operate( dst );
+				} else {
+					onOperateComplete();
+				}
 				
 			} else {
 				ready();
@@ -1239,7 +1245,11 @@ public class Hero extends Char {
 			
 			if (hasKey) {
 				
-				sprite.operate( doorCell );
+				if (sprite != null) {
+					sprite.operate( doorCell );
+				} else {
+					onOperateComplete();
+				}
 				
 				Sample.INSTANCE.play( Assets.Sounds.UNLOCK );
 				
@@ -1429,7 +1439,11 @@ public class Hero extends Char {
 
 			}
 			//attack target cleared on onAttackComplete
-			sprite.attack( attackTarget.pos );
+			if (sprite != null) {
+				sprite.attack( attackTarget.pos );
+			} else {
+				onAttackComplete();
+			}
 
 			return false;
 
@@ -1683,7 +1697,7 @@ public class Hero extends Char {
 
 				//only do a simple check for mind visioned enemies, better performance
 				if ((!mindVisionEnemies.contains(m) && QuickSlotButton.autoAim(m) != -1)
-						|| (mindVisionEnemies.contains(m) && new Ballistica( pos, m.pos, Ballistica.PROJECTILE ).collisionPos == m.pos)) {
+						|| (mindVisionEnemies.contains(m) && Ballistica.collision( pos, m.pos, Ballistica.PROJECTILE ) == m.pos)) {
 					if (target == null) {
 						target = m;
 					} else if (distance(target) > distance(m)) {
@@ -1852,7 +1866,7 @@ public class Hero extends Char {
 				Buff.affect(this, Momentum.class).gainStack();
 			}
 			
-			sprite.move(pos, step);
+			if (sprite != null) sprite.move(pos, step);
 			move(step);
 
 			spend( delay / speed() );
@@ -2226,7 +2240,7 @@ public class Hero extends Char {
 				passable.add( cell );
 			}
 		}
-		Collections.shuffle( passable );
+		Random.shuffle( passable );
 
 		ArrayList<Item> items = new ArrayList<>(Dungeon.hero.belongings.backpack.items);
 		for (Integer cell : passable) {
@@ -2235,7 +2249,8 @@ public class Hero extends Char {
 			}
 
 			Item item = Random.element( items );
-			Dungeon.level.drop( item, cell ).sprite.drop( pos );
+			Heap heap = Dungeon.level.drop( item, cell );
+			if (heap.sprite != null) heap.sprite.drop( pos );
 			items.remove( item );
 		}
 
@@ -2555,8 +2570,10 @@ public class Hero extends Char {
 		}
 		
 		if (intentional) {
-			sprite.showStatus( CharSprite.DEFAULT, Messages.get(this, "search") );
-			sprite.operate( pos );
+			if (sprite != null) {
+				sprite.showStatus( CharSprite.DEFAULT, Messages.get(this, "search") );
+				sprite.operate( pos );
+			}
 			if (!Dungeon.level.locked) {
 				if (cursed) {
 					GLog.n(Messages.get(this, "search_distracted"));
@@ -65,7 +65,7 @@ public abstract class ArmorAbility implements Bundlable {
 	}
 
 	public int targetedPos( Char user, int dst ){
-		return new Ballistica( user.pos, dst, Ballistica.PROJECTILE ).collisionPos;
+		return Ballistica.collision( user.pos, dst, Ballistica.PROJECTILE );
 	}
 
 	public float chargeUse( Hero hero ){
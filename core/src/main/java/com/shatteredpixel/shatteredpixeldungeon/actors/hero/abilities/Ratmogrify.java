@@ -138,7 +138,7 @@ public class Ratmogrify extends ArmorAbility {
 		} else {
 			TransmogRat rat = new TransmogRat();
 			rat.setup((Mob)ch);
-			rat.pos = ch.pos;
+			rat.setPos( ch.pos );
 
 			//preserve some buffs
 			HashSet<Buff> persistentBuffs = new HashSet<>();
@@ -224,7 +224,7 @@ public class Ratmogrify extends ArmorAbility {
 		public Mob getOriginal(){
 			if (original != null) {
 				original.HP = HP;
-				original.pos = pos;
+				original.setPos( pos );
 			}
 			return original;
 		}
@@ -287,7 +287,7 @@ public class Ratmogrify extends ArmorAbility {
 
 		@Override
 		public void rollToDropLoot() {
-			original.pos = pos;
+			original.setPos( pos );
 			original.rollToDropLoot();
 		}
 
@@ -158,7 +158,7 @@ public class PowerOfMany extends ArmorAbility {
 				}
 
 				ch = new LightAlly(hero.lvl);
-				ch.pos = target;
+				ch.setPos( target );
 				GameScene.add((Mob) ch);
 				ScrollOfTeleportation.appear(ch, ch.pos);
 			}
@@ -108,7 +108,7 @@ public class Feint extends ArmorAbility {
 				if (Dungeon.level.map[hero.pos] == Terrain.OPEN_DOOR) {
 					Door.leave( hero.pos );
 				}
-				hero.pos = target;
+				hero.setPos( target );
 				Dungeon.level.occupyCell(hero);
 				Invisibility.dispel();
 				hero.next();
@@ -117,7 +117,7 @@ public class Feint extends ArmorAbility {
 		hero.spend(1f);
 
 		AfterImage image = new AfterImage();
-		image.pos = hero.pos;
+		image.setPos( hero.pos );
 		GameScene.add(image);
 		image.syncToHero(hero);
 
@@ -105,7 +105,7 @@ public class SpiritHawk extends ArmorAbility {
 				armor.updateQuickslot();
 
 				ally = new HawkAlly();
-				ally.pos = Random.element(spawnPoints);
+				ally.setPos( Random.element(spawnPoints) );
 				GameScene.add(ally);
 
 				ScrollOfTeleportation.appear(ally, ally.pos);
@@ -60,7 +60,7 @@ public class Shockwave extends ArmorAbility {
 
 	@Override
 	public int targetedPos(Char user, int dst) {
-		return new Ballistica( user.pos, dst, Ballistica.STOP_SOLID | Ballistica.STOP_TARGET ).collisionPos;
+		return Ballistica.collision( user.pos, dst, Ballistica.STOP_SOLID | Ballistica.STOP_TARGET );
 	}
 
 	@Override
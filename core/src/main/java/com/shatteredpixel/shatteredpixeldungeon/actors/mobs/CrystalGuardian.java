@@ -224,6 +224,11 @@ public class CrystalGuardian extends Mob{
 		}
 	}
 
+	@Override
+	public boolean modifiesPassable() {
+		return true;
+	}
+
 	@Override
 	public boolean[] modifyPassable(boolean[] passable) {
 		//if we are hunting, we can stomp through crystals, but prefer not to
@@ -65,6 +65,11 @@ public class CrystalWisp extends Mob{
 		}
 	}
 
+	@Override
+	public boolean modifiesPassable() {
+		return true;
+	}
+
 	@Override
 	public boolean[] modifyPassable(boolean[] passable) {
 		for (int i = 0; i < Dungeon.level.length(); i++){
@@ -91,13 +96,13 @@ public class CrystalWisp extends Mob{
 	@Override
 	protected boolean canAttack( Char enemy ) {
 		return super.canAttack(enemy)
-				|| new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos == enemy.pos;
+				|| Ballistica.collision( pos, enemy.pos, Ballistica.MAGIC_BOLT ) == enemy.pos;
 	}
 
 	protected boolean doAttack(Char enemy ) {
 
 		if (Dungeon.level.adjacent( pos, enemy.pos )
-				|| new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos != enemy.pos) {
+				|| Ballistica.collision( pos, enemy.pos, Ballistica.MAGIC_BOLT ) != enemy.pos) {
 
 			return super.doAttack( enemy );
 
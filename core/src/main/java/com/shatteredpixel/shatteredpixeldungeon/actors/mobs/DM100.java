@@ -75,7 +75,7 @@ public class DM100 extends Mob implements Callback {
 	@Override
 	protected boolean canAttack( Char enemy ) {
 		return super.canAttack(enemy)
-				|| new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos == enemy.pos;
+				|| Ballistica.collision( pos, enemy.pos, Ballistica.MAGIC_BOLT ) == enemy.pos;
 	}
 	
 	//used so resistances can differentiate between melee and magical attacks
@@ -85,7 +85,7 @@ public class DM100 extends Mob implements Callback {
 	protected boolean doAttack( Char enemy ) {
 
 		if (Dungeon.level.adjacent( pos, enemy.pos )
-				|| new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos != enemy.pos) {
+				|| Ballistica.collision( pos, enemy.pos, Ballistica.MAGIC_BOLT ) != enemy.pos) {
 			
 			return super.doAttack( enemy );
 			
@@ -109,7 +109,7 @@ public class DemonSpawner extends Mob {
 			if (!candidates.isEmpty()) {
 				RipperDemon spawn = new RipperDemon();
 
-				spawn.pos = Random.element( candidates );
+				spawn.setPos( Random.element( candidates ) );
 				spawn.state = spawn.HUNTING;
 
 				GameScene.add( spawn, 1 );
@@ -407,7 +407,7 @@ public class DwarfKing extends Mob {
 			}
 
 			Actor.add(new Pushing(this, pos, bestPos));
-			pos = bestPos;
+			setPos( bestPos );
 
 			//find closest cell that's adjacent to enemy, place subject there
 			bestDist = Dungeon.level.trueDistance(enemy.pos, pos);
@@ -694,7 +694,7 @@ public class DwarfKing extends Mob {
 
 				if (Actor.findChar(pos) == null) {
 					Mob m = Reflection.newInstance(summon);
-					m.pos = pos;
+					m.setPos( pos );
 					m.maxLvl = -2;
 					GameScene.add(m);
 					Dungeon.level.occupyCell(m);
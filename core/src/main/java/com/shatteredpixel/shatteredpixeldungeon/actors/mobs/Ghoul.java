@@ -125,7 +125,7 @@ public class Ghoul extends Mob {
 					child.state = child.WANDERING;
 				}
 				
-				child.pos = Random.element( candidates );
+				child.setPos( Random.element( candidates ) );
 
 				GameScene.add( child );
 				Dungeon.level.occupyCell(child);
@@ -279,7 +279,7 @@ public class Ghoul extends Mob {
 					if (candidates.size() > 0) {
 						int newPos = Random.element( candidates );
 						Actor.add( new Pushing( ghoul, ghoul.pos, newPos ) );
-						ghoul.pos = newPos;
+						ghoul.setPos( newPos );
 
 					} else {
 						spend(TICK);
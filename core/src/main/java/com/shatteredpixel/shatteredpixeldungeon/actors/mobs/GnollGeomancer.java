@@ -399,6 +399,7 @@ public class GnollGeomancer extends Mob {
 		cells.addAll(spreadDiamondAOE(cells));
 
 		ArrayList<Integer> exteriorCells = spreadDiamondAOE(cells);
+		ArrayList<Integer> changedCells = new ArrayList<>(cells);
 
 		for (int i : cells){
 			if (Dungeon.level.map[i] == Terrain.WALL_DECO){
@@ -423,13 +424,15 @@ public class GnollGeomancer extends Mob {
 					&& Dungeon.level.plants.get(i) == null
 					&& Actor.findChar(i) == null){
 				Dungeon.level.map[i] = Terrain.MINE_BOULDER;
+				changedCells.add(i);
 			}
 		}
 		if (Dungeon.level.solid[dashPos]){
 			Dungeon.level.map[dashPos] = Terrain.EMPTY_DECO;
+			changedCells.add(dashPos);
 		}
-		//we potentially update a lot of cells, so might as well just reset properties instead of incrementally updating
-		Dungeon.level.buildFlagMaps();
+		//flags are only updated once all terrain has changed, as the checks above rely on the old solid map
+		Dungeon.level.buildFlagMaps(changedCells);
 		Dungeon.level.cleanWalls();
 		GameScene.updateMap();
 		GameScene.updateFog();
@@ -439,7 +442,7 @@ public class GnollGeomancer extends Mob {
 		Sample.INSTANCE.play(Assets.Sounds.ROCKS);
 
 		int oldpos = pos;
-		pos = dashPos;
+		setPos( dashPos );
 		spend(TICK);
 		abilityCooldown = 1;
 		Actor.add(new Pushing(this, oldpos, pos));
@@ -635,7 +638,7 @@ public class GnollGeomancer extends Mob {
 
 		for (int i = 0; i < Dungeon.level.length(); i++){
 			if (source.fieldOfView[i] && Dungeon.level.map[i] == Terrain.MINE_BOULDER){
-				if (new Ballistica(i, target.pos, Ballistica.PROJECTILE).collisionPos == target.pos){
+				if (Ballistica.collision( i, target.pos, Ballistica.PROJECTILE ) == target.pos){
 					candidateRocks.add(i);
 				}
 			}
@@ -111,8 +111,8 @@ public class GnollGuard extends Mob {
 	protected boolean canAttack( Char enemy ) {
 		//cannot 'curve' spear hits like the hero, requires fairly open space to hit at a distance
 		return Dungeon.level.distance(enemy.pos, pos) <= 2
-				&& new Ballistica( pos, enemy.pos, Ballistica.PROJECTILE).collisionPos == enemy.pos
-				&& new Ballistica( enemy.pos, pos, Ballistica.PROJECTILE).collisionPos == pos;
+				&& Ballistica.collision( pos, enemy.pos, Ballistica.PROJECTILE ) == enemy.pos
+				&& Ballistica.collision( enemy.pos, pos, Ballistica.PROJECTILE ) == pos;
 	}
 
 	@Override
@@ -64,6 +64,7 @@ import com.shatteredpixel.shatteredpixeldungeon.effects.Surprise;
 import com.shatteredpixel.shatteredpixeldungeon.effects.Wound;
 import com.shatteredpixel.shatteredpixeldungeon.effects.particles.ShadowParticle;
 import com.shatteredpixel.shatteredpixeldungeon.items.Generator;
+import com.shatteredpixel.shatteredpixeldungeon.items.Heap;
 import com.shatteredpixel.shatteredpixeldungeon.items.Item;
 import com.shatteredpixel.shatteredpixeldungeon.items.artifacts.MasterThievesArmband;
 import com.shatteredpixel.shatteredpixeldungeon.items.artifacts.TimekeepersHourglass;
@@ -82,6 +83,7 @@ import com.shatteredpixel.shatteredpixeldungeon.items.weapon.missiles.MissileWea
 import com.shatteredpixel.shatteredpixeldungeon.items.weapon.missiles.darts.Dart;
 import com.shatteredpixel.shatteredpixeldungeon.journal.Bestiary;
 import com.shatteredpixel.shatteredpixeldungeon.journal.Notes;
+import com.shatteredpixel.shatteredpixeldungeon.levels.FlowField;
 import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
 import com.shatteredpixel.shatteredpixeldungeon.levels.features.Chasm;
 import com.shatteredpixel.shatteredpixeldungeon.levels.traps.Trap;
@@ -224,11 +226,13 @@ public abstract class Mob extends Char {
 		boolean justAlerted = alerted;
 		alerted = false;
 		
-		if (justAlerted){
-			sprite.showAlert();
-		} else {
-			sprite.hideAlert();
-			sprite.hideLost();
+		if (sprite != null) {
+			if (justAlerted) {
+				sprite.showAlert();
+			} else {
+				sprite.hideAlert();
+				sprite.hideLost();
+			}
 		}
 		
 		if (paralysed > 0) {
@@ -457,7 +461,7 @@ public abstract class Mob extends Char {
 			if (state == FLEEING && ((buff instanceof Terror && buff(Dread.class) == null)
 					|| (buff instanceof Dread && buff(Terror.class) == null))) {
 				if (enemySeen) {
-					sprite.showStatus(CharSprite.WARNING, Messages.get(this, "rage"));
+					if (sprite != null) sprite.showStatus(CharSprite.WARNING, Messages.get(this, "rage"));
 					state = HUNTING;
 				} else {
 					state = WANDERING;
@@ -591,13 +595,14 @@ public abstract class Mob extends Char {
 			//generate a new path
 			if (newPath) {
 				//If we aren't hunting, always take a full path
-				PathFinder.Path full = Dungeon.findPath(this, target, Dungeon.level.passable, fieldOfView, true);
 				if (state != HUNTING){
-					path = full;
+					path = Dungeon.findPath(this, target, Dungeon.level.passable, fieldOfView, true);
 				} else {
+					//hunters often share a target, so they share distance maps toward it as well
+					PathFinder.Path full = FlowField.findPath(this, target, fieldOfView, true);
 					//otherwise, check if other characters are forcing us to take a very slow route
 					// and don't try to go around them yet in response, basically assume their blockage is temporary
-					PathFinder.Path ignoreChars = Dungeon.findPath(this, target, Dungeon.level.passable, fieldOfView, false);
+					PathFinder.Path ignoreChars = FlowField.findPath(this, target, fieldOfView, false);
 					if (ignoreChars != null && (full == null || full.size() > 2*ignoreChars.size())){
 						//check if first cell of shorter path is valid. If it is, use new shorter path. Otherwise do nothing and wait.
 						path = ignoreChars;
@@ -854,7 +859,7 @@ public abstract class Mob extends Char {
 					exp = Math.round(10 * spawningWeight());
 				}
 
-				if (exp > 0) {
+				if (exp > 0 && Dungeon.hero.sprite != null) {
 					Dungeon.hero.sprite.showStatusWithIcon(CharSprite.POSITIVE, Integer.toString(exp), FloatingText.EXPERIENCE);
 				}
 				Dungeon.hero.earnExp(exp, getClass());
@@ -949,7 +954,8 @@ public abstract class Mob extends Char {
 			if (Random.Float() < lootChance()) {
 				Item loot = createLoot();
 				if (loot != null) {
-					Dungeon.level.drop(loot, pos).sprite.drop();
+					Heap heap = Dungeon.level.drop(loot, pos);
+					if (heap.sprite != null) heap.sprite.drop();
 				}
 			}
 		}
@@ -1046,7 +1052,7 @@ public abstract class Mob extends Char {
 	}
 	
 	public void notice() {
-		sprite.showAlert();
+		if (sprite != null) sprite.showAlert();
 	}
 	
 	public void yell( String str ) {
@@ -1234,7 +1240,7 @@ public abstract class Mob extends Char {
 				if (enemyInFOV) {
 					target = enemy.pos;
 				} else if (enemy == null) {
-					sprite.showLost();
+					if (sprite != null) sprite.showLost();
 					state = WANDERING;
 					target = ((Mob.Wandering)WANDERING).randomDestination();
 					spend( TICK );
@@ -1291,7 +1297,7 @@ public abstract class Mob extends Char {
 
 			spend( TICK );
 			if (!enemyInFOV) {
-				sprite.showLost();
+				if (sprite != null) sprite.showLost();
 				state = WANDERING;
 				target = ((Mob.Wandering)WANDERING).randomDestination();
 			}
@@ -1342,7 +1348,7 @@ public abstract class Mob extends Char {
 		protected void nowhereToRun() {
 			if (buff( Terror.class ) == null && buff( Dread.class ) == null) {
 				if (enemySeen) {
-					sprite.showStatus(CharSprite.WARNING, Messages.get(Mob.class, "rage"));
+					if (sprite != null) sprite.showStatus(CharSprite.WARNING, Messages.get(Mob.class, "rage"));
 					state = HUNTING;
 				} else {
 					state = WANDERING;
@@ -1408,7 +1414,7 @@ public abstract class Mob extends Char {
 
 			//gravitate pos sets a preferred location for allies to be closer to
 			if (gravitatePos == -1) {
-				Collections.shuffle(candidatePositions);
+				Random.shuffle(candidatePositions);
 			} else {
 				Collections.sort(candidatePositions, new Comparator<Integer>() {
 					@Override
@@ -1443,9 +1449,9 @@ public abstract class Mob extends Char {
 				ally.state = ally.WANDERING;
 				
 				if (!candidatePositions.isEmpty()){
-					ally.pos = candidatePositions.remove(0);
+					ally.setPos( candidatePositions.remove(0) );
 				} else {
-					ally.pos = pos;
+					ally.setPos( pos );
 				}
 				if (ally.sprite != null) ally.sprite.place(ally.pos);
 
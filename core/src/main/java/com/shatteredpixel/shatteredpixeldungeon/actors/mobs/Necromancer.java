@@ -214,7 +214,7 @@ public class Necromancer extends Mob {
 				Char ch = Actor.findChar(summoningPos);
 				Actor.add( new Pushing( ch, ch.pos, pushPos ) );
 
-				ch.pos = pushPos;
+				ch.setPos( pushPos );
 				Dungeon.level.occupyCell(ch );
 
 			} else {
@@ -237,7 +237,7 @@ public class Necromancer extends Mob {
 		summoning = firstSummon = false;
 
 		mySkeleton = new NecroSkeleton();
-		mySkeleton.pos = summoningPos;
+		mySkeleton.setPos( summoningPos );
 		GameScene.add( mySkeleton );
 		Dungeon.level.occupyCell( mySkeleton );
 		((NecromancerSprite)sprite).finishSummoning();
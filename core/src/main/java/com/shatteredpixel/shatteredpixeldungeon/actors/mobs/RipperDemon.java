@@ -205,7 +205,7 @@ public class RipperDemon extends Mob {
 							Actor.add(new Pushing(RipperDemon.this, leapPos, endPos));
 						}
 
-						pos = endPos;
+						setPos( endPos );
 						leapPos = -1;
 						sprite.idle();
 						Dungeon.level.occupyCell(RipperDemon.this);
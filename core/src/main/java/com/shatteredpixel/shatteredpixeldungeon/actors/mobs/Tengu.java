@@ -234,7 +234,7 @@ public class Tengu extends Mob {
 	
 	@Override
 	protected boolean canAttack( Char enemy ) {
-		return new Ballistica( pos, enemy.pos, Ballistica.PROJECTILE).collisionPos == enemy.pos;
+		return Ballistica.collision( pos, enemy.pos, Ballistica.PROJECTILE ) == enemy.pos;
 	}
 	
 	private void jump() {
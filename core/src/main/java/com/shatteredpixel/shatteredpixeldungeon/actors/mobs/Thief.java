@@ -212,7 +212,7 @@ public class Thief extends Mob {
 
 				if (newPos != -1) {
 
-					pos = newPos;
+					setPos( newPos );
 					sprite.place( pos );
 					sprite.visible = Dungeon.level.heroFOV[pos];
 					if (Dungeon.level.heroFOV[pos]) CellEmitter.get(pos).burst(Speck.factory(Speck.WOOL), 6);
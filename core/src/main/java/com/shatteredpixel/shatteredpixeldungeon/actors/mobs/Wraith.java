@@ -152,18 +152,20 @@ public class Wraith extends Mob {
 				w = Reflection.newInstance(wraithClass);
 			}
 			w.adjustStats( Dungeon.scalingDepth() );
-			w.pos = pos;
+			w.setPos( pos );
 			w.state = w.HUNTING;
 			GameScene.add( w, SPAWN_DELAY );
 			Dungeon.level.occupyCell(w);
 
-			w.sprite.alpha( 0 );
-			w.sprite.parent.add( new AlphaTweener( w.sprite, 1, 0.5f ) );
+			if (w.sprite != null) {
+				w.sprite.alpha( 0 );
+				w.sprite.parent.add( new AlphaTweener( w.sprite, 1, 0.5f ) );
 
-			if (w instanceof TormentedSpirit){
-				w.sprite.emitter().burst(ChallengeParticle.FACTORY, 10);
-			} else {
-				w.sprite.emitter().burst(ShadowParticle.CURSE, 5);
+				if (w instanceof TormentedSpirit){
+					w.sprite.emitter().burst(ChallengeParticle.FACTORY, 10);
+				} else {
+					w.sprite.emitter().burst(ShadowParticle.CURSE, 5);
+				}
 			}
 
 			return w;
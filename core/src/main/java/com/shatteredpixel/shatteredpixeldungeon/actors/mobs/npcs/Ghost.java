@@ -182,7 +182,7 @@ public class Ghost extends NPC {
 					txt_quest = Messages.get(this, "crab_1", Messages.titleCase(Dungeon.hero.name())); break;
 			}
 
-			questBoss.pos = Dungeon.level.randomRespawnCell( this );
+			questBoss.setPos( Dungeon.level.randomRespawnCell( this ) );
 
 			if (questBoss.pos != -1) {
 				GameScene.add(questBoss);
@@ -305,7 +305,7 @@ public class Ghost extends NPC {
 				
 				Ghost ghost = new Ghost();
 				do {
-					ghost.pos = level.pointToCell(room.random());
+					ghost.setPos( level.pointToCell(room.random()) );
 				} while (ghost.pos == -1 || level.solid[ghost.pos] || !level.openSpace[ghost.pos] || ghost.pos == level.exit());
 				level.mobs.add( ghost );
 				
@@ -390,6 +390,10 @@ public class Ghost extends NPC {
 		public static boolean active(){
 			return spawned && given && !processed && depth == Dungeon.depth;
 		}
+
+		public static int Type(){
+			return type;
+		}
 		
 		public static void complete() {
 			weapon = null;
@@ -243,6 +243,10 @@ public class Imp extends NPC {
 		public static boolean given(){
 			return given;
 		}
+
+		public static boolean alternative(){
+			return alternative;
+		}
 		
 		public static void process( Mob mob ) {
 			if (spawned && given && !completed && Dungeon.depth != 20) {
@@ -51,7 +51,7 @@ public class Sheep extends NPC {
 		HP = 0;
 
 		destroy();
-		sprite.die();
+		if (sprite != null) sprite.die();
 		return true;
 	}
 
@@ -78,7 +78,8 @@ public class Sheep extends NPC {
 	@Override
 	public boolean interact(Char c) {
 		Bestiary.setSeen(getClass());
-		sprite.showStatus( CharSprite.NEUTRAL, Messages.get(this, Random.element( LINE_KEYS )) );
+		String line = Messages.get(this, Random.element( LINE_KEYS ));
+		if (sprite != null) sprite.showStatus( CharSprite.NEUTRAL, line );
 		if (c == Dungeon.hero) {
 			Dungeon.hero.spendAndNext(1f);
 			Sample.INSTANCE.play(Assets.Sounds.SHEEP, 1, Random.Float(0.91f, 1.1f));
@@ -310,7 +310,7 @@ public class Wandmaker extends NPC {
 						tries = 0;
 						dist--;
 					}
-					npc.pos = level.pointToCell(room.random(dist));
+					npc.setPos( level.pointToCell(room.random(dist)) );
 					if (npc.pos == level.entrance() || level.solid[npc.pos]){
 						validPos = false;
 					}
@@ -375,6 +375,10 @@ public class Wandmaker extends NPC {
 			return rooms;
 		}
 
+		public static int Type(){
+			return type;
+		}
+
 		//quest is active if:
 		public static boolean active(){
 			//it is not completed
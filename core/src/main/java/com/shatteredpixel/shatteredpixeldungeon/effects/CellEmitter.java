@@ -33,6 +33,7 @@ public class CellEmitter {
 		PointF p = DungeonTilemap.tileToWorld( cell );
 
 		Emitter emitter = GameScene.floorEmitter();
+		if (emitter == null) emitter = new Emitter();
 		emitter.pos( p.x, p.y, DungeonTilemap.SIZE, DungeonTilemap.SIZE );
 
 		return emitter;
@@ -43,6 +44,7 @@ public class CellEmitter {
 		PointF p = DungeonTilemap.tileToWorld( cell );
 		
 		Emitter emitter = GameScene.emitter();
+		if (emitter == null) emitter = new Emitter();
 		emitter.pos( p.x, p.y, DungeonTilemap.SIZE, DungeonTilemap.SIZE );
 		
 		return emitter;
@@ -53,6 +55,7 @@ public class CellEmitter {
 		PointF p = DungeonTilemap.tileToWorld( cell );
 		
 		Emitter emitter = GameScene.emitter();
+		if (emitter == null) emitter = new Emitter();
 		emitter.pos( p.x + DungeonTilemap.SIZE / 2, p.y + DungeonTilemap.SIZE / 2 );
 		
 		return emitter;
@@ -63,6 +66,7 @@ public class CellEmitter {
 		PointF p = DungeonTilemap.tileToWorld( cell );
 		
 		Emitter emitter = GameScene.emitter();
+		if (emitter == null) emitter = new Emitter();
 		emitter.pos( p.x, p.y + DungeonTilemap.SIZE, DungeonTilemap.SIZE, 0 );
 		
 		return emitter;
@@ -136,7 +136,7 @@ public class SpellSprite extends Image {
 	
 	public static void show( Char ch, int index, float r, float g, float b ) {
 		
-		if (!ch.sprite.visible) {
+		if (ch.sprite == null || !ch.sprite.visible) {
 			return;
 		}
 		
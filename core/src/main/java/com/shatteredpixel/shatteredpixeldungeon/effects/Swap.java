@@ -72,8 +72,8 @@ public class Swap extends Actor {
 			next();
 
 			int pos = ch1.pos;
-			ch1.pos = ch2.pos;
-			ch2.pos = pos;
+			ch1.setPos( ch2.pos );
+			ch2.setPos( pos );
 
 			Dungeon.level.occupyCell(ch1 );
 			Dungeon.level.occupyCell(ch2 );
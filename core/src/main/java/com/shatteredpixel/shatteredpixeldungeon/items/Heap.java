@@ -111,8 +111,10 @@ public class Heap implements Bundlable {
 			items.addAll(0, bonus);
 			RingOfWealth.showFlareForBonusDrop(sprite);
 		}
-		sprite.link();
-		sprite.drop();
+		if (sprite != null) {
+			sprite.link();
+			sprite.drop();
+		}
 	}
 	
 	public Heap setHauntedIfCursed(){
@@ -267,8 +269,10 @@ public class Heap implements Bundlable {
 		//breaks open most standard containers, mimics die.
 		if (type == Type.CHEST || type == Type.SKELETON) {
 			type = Type.HEAP;
-			sprite.link();
-			sprite.drop();
+			if (sprite != null) {
+				sprite.link();
+				sprite.drop();
+			}
 			return;
 		}
 
@@ -120,7 +120,7 @@ public class Honeypot extends Item {
 			bee.spawn( Dungeon.scalingDepth() );
 			bee.setPotInfo( pos, owner );
 			bee.HP = bee.HT;
-			bee.pos = newPos;
+			bee.setPos( newPos );
 			
 			GameScene.add( bee );
 			if (newPos != pos) Actor.add( new Pushing( bee, pos, newPos ) );
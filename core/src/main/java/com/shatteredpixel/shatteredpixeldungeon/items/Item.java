@@ -629,7 +629,7 @@ public class Item implements Bundlable {
 	}
 
 	public int throwPos( Hero user, int dst){
-		return new Ballistica( user.pos, dst, Ballistica.PROJECTILE ).collisionPos;
+		return Ballistica.collision( user.pos, dst, Ballistica.PROJECTILE );
 	}
 
 	public void throwSound(){
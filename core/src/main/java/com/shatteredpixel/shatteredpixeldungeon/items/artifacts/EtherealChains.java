@@ -193,7 +193,7 @@ public class EtherealChains extends Artifact {
 			public void call() {
 				Actor.add(new Pushing(enemy, enemy.pos, pulledPos, new Callback() {
 					public void call() {
-						enemy.pos = pulledPos;
+						enemy.setPos( pulledPos );
 
 						charge -= chargeUse;
 						Invisibility.dispel(hero);
@@ -261,7 +261,7 @@ public class EtherealChains extends Artifact {
 			public void call() {
 				Actor.add(new Pushing(hero, hero.pos, newHeroPos, new Callback() {
 					public void call() {
-						hero.pos = newHeroPos;
+						hero.setPos( newHeroPos );
 
 						charge -= chargeUse;
 						Invisibility.dispel(hero);
@@ -105,7 +105,7 @@ public class HolyTome extends Artifact {
 		if (targetingSpell == null || targetingSpell.targetingFlags() == -1) {
 			return super.targetingPos(user, dst);
 		} else {
-			return new Ballistica( user.pos, dst, targetingSpell.targetingFlags() ).collisionPos;
+			return Ballistica.collision( user.pos, dst, targetingSpell.targetingFlags() );
 		}
 	}
 
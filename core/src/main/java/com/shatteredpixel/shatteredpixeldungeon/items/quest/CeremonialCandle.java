@@ -178,12 +178,12 @@ public class CeremonialCandle extends Item {
 					}
 				}
 				if (candidates.size() > 0) {
-					elemental.pos = Random.element( candidates );
+					elemental.setPos( Random.element( candidates ) );
 				} else {
-					elemental.pos = ritualPos;
+					elemental.setPos( ritualPos );
 				}
 			} else {
-				elemental.pos = ritualPos;
+				elemental.setPos( ritualPos );
 			}
 			elemental.state = elemental.HUNTING;
 			GameScene.add(elemental, 1);
@@ -58,7 +58,7 @@ public class StoneOfFlock extends Runestone {
 					&& !(Dungeon.level.pit[i])) {
 				Sheep sheep = new Sheep();
 				sheep.initialize(8);
-				sheep.pos = i;
+				sheep.setPos( i );
 				GameScene.add(sheep);
 				Dungeon.level.occupyCell(sheep);
 				CellEmitter.get(i).burst(Speck.factory(Speck.WOOL), 4);
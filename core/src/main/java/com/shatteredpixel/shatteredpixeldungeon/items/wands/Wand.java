@@ -129,9 +129,9 @@ public abstract class Wand extends Item {
 	@Override
 	public int targetingPos(Hero user, int dst) {
 		if (cursed && cursedKnown){
-			return new Ballistica(user.pos, dst, Ballistica.MAGIC_BOLT).collisionPos;
+			return Ballistica.collision( user.pos, dst, Ballistica.MAGIC_BOLT );
 		} else {
-			return new Ballistica(user.pos, dst, collisionProperties).collisionPos;
+			return Ballistica.collision( user.pos, dst, collisionProperties );
 		}
 	}
 
@@ -153,7 +153,7 @@ public class WandOfWarding extends Wand {
 
 		} else {
 			Ward ward = new Ward();
-			ward.pos = target;
+			ward.setPos( target );
 			ward.wandLevel = buffedLvl();
 			GameScene.add(ward, 1f);
 			Dungeon.level.occupyCell(ward);
@@ -353,7 +353,7 @@ public class WandOfWarding extends Wand {
 
 		@Override
 		protected boolean canAttack( Char enemy ) {
-			return new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos == enemy.pos;
+			return Ballistica.collision( pos, enemy.pos, Ballistica.MAGIC_BOLT ) == enemy.pos;
 		}
 
 		@Override
@@ -128,7 +128,7 @@ public class Dagger extends MeleeWeapon {
 		Buff.prolong(hero, Invisibility.class, invisTurns-1); //1 fewer turns as ability is instant
 
 		Dungeon.hero.sprite.turnTo( Dungeon.hero.pos, target);
-		Dungeon.hero.pos = target;
+		Dungeon.hero.setPos( target );
 		Dungeon.level.occupyCell(Dungeon.hero);
 		Dungeon.observe();
 		GameScene.updateFog();
@@ -73,7 +73,10 @@ abstract public class MissileWeapon extends Weapon {
 	}
 
 	//TODO maybe make this like actor IDs, instead of random? collisions unlikely, but it's messy
-	public long setID = new SecureRandom().nextLong();
+	public long setID = setIDs.nextLong();
+
+	//creating a secure random is slow, and missile weapons are created whenever one is restored
+	private static final SecureRandom setIDs = new SecureRandom();
 
 	//whether or not this instance of the item exists purely to trigger its effect. i.e. no dropping
 	public boolean spawnedForEffect = false;
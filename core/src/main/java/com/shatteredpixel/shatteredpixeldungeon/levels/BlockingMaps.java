@@ -0,0 +1,105 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.levels;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Blob;
+
+import java.util.Arrays;
+
+//The sight blocking maps of a level as seen by characters who see through grass or are blocked by smoke.
+//Many characters look around within a single turn, so each map is kept after it is built, along with copies
+// of what it was built from. It is only built again once those have changed.
+class BlockingMaps {
+
+	//the maps, indexed by ViewCache kind, and whether each is up to date
+	private final boolean[][] maps = new boolean[4][];
+	private final boolean[] built = new boolean[4];
+
+	//copies of what the maps were built from
+	private boolean[] losBlocking;
+	private int[] terrain;
+	private int[] smoke;
+
+	//smoke is only read if kind includes ViewCache.SMOKE
+	boolean[] get( Level level, int kind, Blob smoke ){
+		if (kind == 0){
+			return level.losBlocking;
+		}
+
+		int length = level.length();
+		if (losBlocking == null || losBlocking.length != length){
+			losBlocking = level.losBlocking.clone();
+			terrain = level.map.clone();
+			this.smoke = null;
+			for (int i = 0; i < maps.length; i++){
+				maps[i] = new boolean[length];
+				built[i] = false;
+			}
+		} else if (!Arrays.equals( losBlocking, level.losBlocking )){
+			System.arraycopy( level.losBlocking, 0, losBlocking, 0, length );
+			Arrays.fill( built, false );
+		}
+
+		if ((kind & ViewCache.SEE_THROUGH_GRASS) != 0 && !Arrays.equals( terrain, level.map )){
+			System.arraycopy( level.map, 0, terrain, 0, length );
+			built[ViewCache.SEE_THROUGH_GRASS] = false;
+			built[ViewCache.SEE_THROUGH_GRASS | ViewCache.SMOKE] = false;
+		}
+
+		if ((kind & ViewCache.SMOKE) != 0 && !Arrays.equals( this.smoke, smoke.cur )){
+			if (this.smoke == null || this.smoke.length != smoke.cur.length){
+				this.smoke = smoke.cur.clone();
+			} else {
+				System.arraycopy( smoke.cur, 0, this.smoke, 0, smoke.cur.length );
+			}
+			built[ViewCache.SMOKE] = false;
+			built[ViewCache.SEE_THROUGH_GRASS | ViewCache.SMOKE] = false;
+		}
+
+		if (!built[kind]){
+			build( maps[kind], kind );
+			built[kind] = true;
+		}
+		return maps[kind];
+	}
+
+	private void build( boolean[] blocking, int kind ){
+		System.arraycopy( losBlocking, 0, blocking, 0, blocking.length );
+
+		if ((kind & ViewCache.SEE_THROUGH_GRASS) != 0){
+			for (int i = 0; i < blocking.length; i++) {
+				if (blocking[i] && (terrain[i] == Terrain.HIGH_GRASS || terrain[i] == Terrain.FURROWED_GRASS)) {
+					blocking[i] = false;
+				}
+			}
+		}
+
+		if ((kind & ViewCache.SMOKE) != 0){
+			for (int i = 0; i < blocking.length; i++){
+				if (!blocking[i] && smoke[i] > 0){
+					blocking[i] = true;
+				}
+			}
+		}
+	}
+
+}
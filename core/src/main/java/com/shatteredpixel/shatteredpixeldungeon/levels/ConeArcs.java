@@ -0,0 +1,83 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+
+package com.shatteredpixel.shatteredpixeldungeon.levels;
+
+import java.util.ArrayList;
+
+//The cells cones on a level most recently cast their rays to, see ConeAOE.
+//These depend only on where a cone is aimed, not on terrain, so a cone cast again with the same aim
+// (such as by AI each turn) reuses them instead of redoing the trig.
+public class ConeArcs {
+
+	public static class Arc {
+
+		public final int from;
+		public final int to;
+		public final float maxDist;
+		public final float degrees;
+
+		//clockwise order, and whether each is on the outer arc
+		public final int[] targets;
+		public final boolean[] outer;
+
+		public Arc( int from, int to, float maxDist, float degrees, int[] targets, boolean[] outer ){
+			this.from = from;
+			this.to = to;
+			this.maxDist = maxDist;
+			this.degrees = degrees;
+			this.targets = targets;
+			this.outer = outer;
+		}
+
+	}
+
+	private static final int ARCS = 16;
+
+	//most recently used first
+	private final ArrayList<Arc> arcs = new ArrayList<>();
+
+	//returns the arc cast with this aim, or null if there isn't one
+	public static Arc get( Level level, int from, int to, float maxDist, float degrees ){
+		ArrayList<Arc> arcs = level.coneArcs.arcs;
+		for (int i = 0; i < arcs.size(); i++){
+			Arc arc = arcs.get(i);
+			if (arc.from == from && arc.to == to
+					&& Float.compare(arc.maxDist, maxDist) == 0 && Float.compare(arc.degrees, degrees) == 0){
+				if (i > 0){
+					arcs.add(0, arcs.remove(i));
+				}
+				return arc;
+			}
+		}
+		return null;
+	}
+
+	public static void add( Level level, Arc arc ){
+		ArrayList<Arc> arcs = level.coneArcs.arcs;
+		arcs.add(0, arc);
+		if (arcs.size() > ARCS){
+			arcs.remove(ARCS);
+		}
+	}
+
+}
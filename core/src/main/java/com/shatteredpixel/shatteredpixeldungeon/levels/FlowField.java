@@ -0,0 +1,130 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+
+package com.shatteredpixel.shatteredpixeldungeon.levels;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Amok;
+import com.watabou.utils.BArray;
+import com.watabou.utils.PathFinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+//A distance map over the whole level toward one target cell, shared by every character heading there.
+//When several mobs hunt the same enemy, each would otherwise copy the passable map and search on its own.
+//Instead one map is built per target and kept by the level until its terrain changes, and each mob
+// just follows it down from where it stands.
+//Paths are exactly those Dungeon.findPath would give.
+public class FlowField {
+
+	//how many targets each level keeps maps for
+	private static final int CAPACITY = 4;
+
+	private final int target;
+	private final boolean flying;
+	private final boolean large;
+
+	//the terrain this map was built from, it's valid for as long as the level's maps are the same
+	private final boolean[] passable;
+	private final boolean[] avoid;
+	private final boolean[] openSpace;
+
+	private final int[] distance;
+
+	private FlowField( Level level, int target, boolean flying, boolean large ){
+		this.target = target;
+		this.flying = flying;
+		this.large = large;
+
+		passable = level.passable.clone();
+		avoid = flying ? level.avoid.clone() : null;
+		openSpace = large ? level.openSpace.clone() : null;
+
+		boolean[] pass = flying ? BArray.or( passable, avoid, null ) : passable.clone();
+		if (large){
+			BArray.and( pass, openSpace, pass );
+		}
+		PathFinder.buildDistanceMap( target, pass );
+		distance = PathFinder.distance.clone();
+	}
+
+	private boolean matches( Level level, int target, boolean flying, boolean large ){
+		return this.target == target && this.flying == flying && this.large == large
+				&& Arrays.equals( passable, level.passable )
+				&& (!flying || Arrays.equals( avoid, level.avoid ))
+				&& (!large || Arrays.equals( openSpace, level.openSpace ));
+	}
+
+	private static FlowField get( Level level, int target, boolean flying, boolean large ){
+		ArrayList<FlowField> fields = level.flowFields;
+		for (int i = 0; i < fields.size(); i++){
+			FlowField field = fields.get(i);
+			if (field.matches( level, target, flying, large )){
+				//most recently used maps are kept at the front
+				if (i > 0){
+					fields.remove( i );
+					fields.add( 0, field );
+				}
+				return field;
+			}
+		}
+
+		FlowField field = new FlowField( level, target, flying, large );
+		fields.add( 0, field );
+		if (fields.size() > CAPACITY){
+			fields.remove( CAPACITY );
+		}
+		return field;
+	}
+
+	//equivalent to Dungeon.findPath( ch, to, Dungeon.level.passable, vis, chars )
+	public static PathFinder.Path findPath( Char ch, int to, boolean[] vis, boolean chars ){
+
+		if (ch.modifiesPassable()){
+			return Dungeon.findPath( ch, to, Dungeon.level.passable, vis, chars );
+		}
+
+		//these match the passable map Dungeon.findPassable makes, before characters are added
+		boolean flying = ch.flying || ch.buff( Amok.class ) != null;
+		boolean large = chars && Char.hasProp( ch, Char.Property.LARGE );
+
+		PathFinder.Path path = PathFinder.find( ch.pos, get( Dungeon.level, to, flying, large ).distance );
+
+		//visible characters would block cells, which only matters if they stand on the path itself.
+		//If they don't, every cell on the path is exactly as far from the target as before,
+		// so a search around them finds the same path. The target is never blocked
+		if (path != null && chars){
+			for (int i = 0; i < path.size(); i++){
+				int cell = path.get( i );
+				if (cell != to && vis[cell] && Actor.findChar( cell ) != null){
+					return Dungeon.findPath( ch, to, Dungeon.level.passable, vis, chars );
+				}
+			}
+		}
+
+		return path;
+	}
+
+}
@@ -119,6 +119,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 
 public abstract class Level implements Bundlable {
 	
@@ -186,6 +188,19 @@ public abstract class Level implements Bundlable {
 	public SparseArray<Trap> traps;
 	public ArrayList<CustomTilemap> customTiles;
 	public ArrayList<CustomTilemap> customWalls;
+
+	//distance maps shared by mobs hunting the same target, these are never saved
+	ArrayList<FlowField> flowFields = new ArrayList<>();
+
+	//fields of view recently cast over this level, and the sight blocking maps they are cast over. Also never saved
+	ViewCache viewCache = new ViewCache();
+	BlockingMaps blockingMaps = new BlockingMaps();
+
+	//which neighbours blobs can spread between, worked out from the solid map. Also never saved
+	SpreadMap spreadMap = new SpreadMap();
+
+	//the cells recent cones on this level cast their rays to. Also never saved
+	ConeArcs coneArcs = new ConeArcs();
 	
 	protected ArrayList<Item> itemsToSpawn = new ArrayList<>();
 
@@ -297,9 +312,9 @@ public abstract class Level implements Bundlable {
 
 			transitions = new ArrayList<>();
 
-			mobs = new HashSet<>();
+			mobs = new LinkedHashSet<>();
 			heaps = new SparseArray<>();
-			blobs = new HashMap<>();
+			blobs = new LinkedHashMap<>();
 			plants = new SparseArray<>();
 			traps = new SparseArray<>();
 			customTiles = new ArrayList<>();
@@ -370,9 +385,9 @@ public abstract class Level implements Bundlable {
 
 		setSize( bundle.getInt(WIDTH), bundle.getInt(HEIGHT));
 		
-		mobs = new HashSet<>();
+		mobs = new LinkedHashSet<>();
 		heaps = new SparseArray<>();
-		blobs = new HashMap<>();
+		blobs = new LinkedHashMap<>();
 		plants = new SparseArray<>();
 		traps = new SparseArray<>();
 		customTiles = new ArrayList<>();
@@ -721,6 +736,13 @@ public abstract class Level implements Bundlable {
 		return respawner;
 	}
 
+	//re-adds a respawner that was restored along with this level, leaving its cooldown exactly as it was
+	public void restoreRespawner() {
+		if (respawner != null){
+			Actor.add(respawner);
+		}
+	}
+
 	public float respawnCooldown(){
 		float cooldown;
 		if (Statistics.amuletObtained){
@@ -748,7 +770,7 @@ public abstract class Level implements Bundlable {
 		}
 		int tries = 30;
 		do {
-			mob.pos = randomRespawnCell(mob);
+			mob.setPos( randomRespawnCell(mob) );
 			tries--;
 		} while ((mob.pos == -1 || PathFinder.distance[mob.pos] < disLimit) && tries > 0);
 
@@ -829,15 +851,7 @@ public abstract class Level implements Bundlable {
 	public void buildFlagMaps() {
 		
 		for (int i=0; i < length(); i++) {
-			int flags = Terrain.flags[map[i]];
-			passable[i]		= (flags & Terrain.PASSABLE) != 0;
-			losBlocking[i]	= (flags & Terrain.LOS_BLOCKING) != 0;
-			flamable[i]		= (flags & Terrain.FLAMABLE) != 0;
-			secret[i]		= (flags & Terrain.SECRET) != 0;
-			solid[i]		= (flags & Terrain.SOLID) != 0;
-			avoid[i]		= (flags & Terrain.AVOID) != 0;
-			water[i]		= (flags & Terrain.LIQUID) != 0;
-			pit[i]			= (flags & Terrain.PIT) != 0;
+			buildFlags( i );
 		}
 
 		for (Blob b : blobs.values()){
@@ -858,24 +872,80 @@ public abstract class Level implements Bundlable {
 			losBlocking[i + width()-1] = solid[i + width()-1] = true;
 		}
 
-		//an open space is large enough to fit large mobs. A space is open when it is not solid
-		// and there is an open corner with both adjacent cells opens
 		for (int i=0; i < length(); i++) {
-			if (solid[i]){
-				openSpace[i] = false;
-			} else {
-				for (int j = 1; j < PathFinder.CIRCLE8.length; j += 2){
-					if (solid[i+PathFinder.CIRCLE8[j]]) {
-						openSpace[i] = false;
-					} else if (!solid[i+PathFinder.CIRCLE8[(j+1)%8]]
-							&& !solid[i+PathFinder.CIRCLE8[(j+2)%8]]){
-						openSpace[i] = true;
+			buildOpenSpace( i );
+		}
+
+	}
+
+	//rebuilds flags only for the given cells, plus the open space of their neighbours.
+	//This gives the same result as a full rebuild so long as no other cells have changed terrain
+	public void buildFlagMaps( Collection<Integer> cells ) {
+
+		for (int cell : cells) {
+			buildFlags( cell );
+		}
+
+		//blob effects are already applied to unchanged cells, so blobs only need reapplying if they cover a changed cell
+		for (Blob b : blobs.values()){
+			if (b.volume > 0 && b.cur != null){
+				for (int cell : cells){
+					if (b.cur[cell] > 0){
+						b.onBuildFlagMaps(this);
 						break;
 					}
 				}
 			}
 		}
 
+		for (int cell : cells) {
+			int x = cell % width();
+			if (cell < width() || cell >= length() - width() || x == 0 || x == width()-1){
+				passable[cell] = avoid[cell] = false;
+				losBlocking[cell] = solid[cell] = true;
+			}
+		}
+
+		for (int cell : cells) {
+			for (int i : PathFinder.NEIGHBOURS9){
+				i = cell + i;
+				if (i >= 0 && i < length()) {
+					buildOpenSpace( i );
+				}
+			}
+		}
+
+	}
+
+	//sets the flags of a single cell from its terrain, blobs and the level's edges are applied separately
+	protected void buildFlags( int cell ) {
+		int flags = Terrain.flags[map[cell]];
+		passable[cell]		= (flags & Terrain.PASSABLE) != 0;
+		losBlocking[cell]	= (flags & Terrain.LOS_BLOCKING) != 0;
+		flamable[cell]		= (flags & Terrain.FLAMABLE) != 0;
+		secret[cell]		= (flags & Terrain.SECRET) != 0;
+		solid[cell]			= (flags & Terrain.SOLID) != 0;
+		avoid[cell]			= (flags & Terrain.AVOID) != 0;
+		water[cell]			= (flags & Terrain.LIQUID) != 0;
+		pit[cell]			= (flags & Terrain.PIT) != 0;
+	}
+
+	//an open space is large enough to fit large mobs. A space is open when it is not solid
+	// and there is an open corner with both adjacent cells opens
+	private void buildOpenSpace( int cell ) {
+		if (solid[cell]){
+			openSpace[cell] = false;
+		} else {
+			for (int j = 1; j < PathFinder.CIRCLE8.length; j += 2){
+				if (solid[cell+PathFinder.CIRCLE8[j]]) {
+					openSpace[cell] = false;
+				} else if (!solid[cell+PathFinder.CIRCLE8[(j+1)%8]]
+						&& !solid[cell+PathFinder.CIRCLE8[(j+2)%8]]){
+					openSpace[cell] = true;
+					break;
+				}
+			}
+		}
 	}
 
 	public void destroy( int pos ) {
@@ -923,37 +993,10 @@ public abstract class Level implements Bundlable {
 			level.traps.remove( cell );
 		}
 
-		int flags = Terrain.flags[terrain];
-		level.passable[cell]		= (flags & Terrain.PASSABLE) != 0;
-		level.losBlocking[cell]	    = (flags & Terrain.LOS_BLOCKING) != 0;
-		level.flamable[cell]		= (flags & Terrain.FLAMABLE) != 0;
-		level.secret[cell]		    = (flags & Terrain.SECRET) != 0;
-		level.solid[cell]			= (flags & Terrain.SOLID) != 0;
-		level.avoid[cell]			= (flags & Terrain.AVOID) != 0;
-		level.pit[cell]			    = (flags & Terrain.PIT) != 0;
-		level.water[cell]			= terrain == Terrain.WATER;
-
-		if (level instanceof SewerLevel){
-			if (level.map[cell] == Terrain.REGION_DECO || level.map[cell] == Terrain.REGION_DECO_ALT){
-				level.flamable[cell] = true;
-			}
-		}
+		level.buildFlags( cell );
 
 		for (int i : PathFinder.NEIGHBOURS9){
-			i = cell + i;
-			if (level.solid[i]){
-				level.openSpace[i] = false;
-			} else {
-				for (int j = 1; j < PathFinder.CIRCLE8.length; j += 2){
-					if (level.solid[i+PathFinder.CIRCLE8[j]]) {
-						level.openSpace[i] = false;
-					} else if (!level.solid[i+PathFinder.CIRCLE8[(j+1)%8]]
-							&& !level.solid[i+PathFinder.CIRCLE8[(j+2)%8]]){
-						level.openSpace[i] = true;
-						break;
-					}
-				}
-			}
+			level.buildOpenSpace( cell + i );
 		}
 	}
 	
@@ -1266,8 +1309,6 @@ public abstract class Level implements Bundlable {
 
 	private static boolean[] heroMindFov;
 
-	private static boolean[] modifiableBlocking;
-
 	public void updateFieldOfView( Char c, boolean[] fieldOfView ) {
 
 		int cx = c.pos % width();
@@ -1276,25 +1317,13 @@ public abstract class Level implements Bundlable {
 		boolean sighted = c.buff( Blindness.class ) == null && c.buff( Shadows.class ) == null
 						&& c.isAlive();
 		if (sighted) {
-			boolean[] blocking = null;
-
-			if (modifiableBlocking == null || modifiableBlocking.length != Dungeon.level.losBlocking.length){
-				modifiableBlocking = new boolean[Dungeon.level.losBlocking.length];
-			}
+			int blockingKind = 0;
 
 			//grass is see-through by some specific entities, but not during the fungi quest
 			if (!(Dungeon.level instanceof  MiningLevel) || Blacksmith.Quest.Type() != Blacksmith.Quest.FUNGI){
 				if ((c instanceof Hero && ((Hero) c).subClass == HeroSubClass.WARDEN)
 						|| c instanceof YogFist.SoiledFist || c instanceof GnollGeomancer) {
-					if (blocking == null) {
-						System.arraycopy(Dungeon.level.losBlocking, 0, modifiableBlocking, 0, modifiableBlocking.length);
-						blocking = modifiableBlocking;
-					}
-					for (int i = 0; i < blocking.length; i++) {
-						if (blocking[i] && (Dungeon.level.map[i] == Terrain.HIGH_GRASS || Dungeon.level.map[i] == Terrain.FURROWED_GRASS)) {
-							blocking[i] = false;
-						}
-					}
+					blockingKind |= ViewCache.SEE_THROUGH_GRASS;
 				}
 			}
 
@@ -1302,21 +1331,10 @@ public abstract class Level implements Bundlable {
 			if ((c.alignment != Char.Alignment.ALLY && !(c instanceof GnollGeomancer))
 					&& Dungeon.level.blobs.containsKey(SmokeScreen.class)
 					&& Dungeon.level.blobs.get(SmokeScreen.class).volume > 0) {
-				if (blocking == null) {
-					System.arraycopy(Dungeon.level.losBlocking, 0, modifiableBlocking, 0, modifiableBlocking.length);
-					blocking = modifiableBlocking;
-				}
-				Blob s = Dungeon.level.blobs.get(SmokeScreen.class);
-				for (int i = 0; i < blocking.length; i++){
-					if (!blocking[i] && s.cur[i] > 0){
-						blocking[i] = true;
-					}
-				}
+				blockingKind |= ViewCache.SMOKE;
 			}
 
-			if (blocking == null){
-				blocking = Dungeon.level.losBlocking;
-			}
+			boolean[] blocking = blockingMaps.get( Dungeon.level, blockingKind, Dungeon.level.blobs.get(SmokeScreen.class) );
 
 			float viewDist = c.viewDistance;
 			if (c instanceof Hero){
@@ -1324,7 +1342,7 @@ public abstract class Level implements Bundlable {
 				viewDist *= EyeOfNewt.visionRangeMultiplier();
 			}
 			
-			ShadowCaster.castShadow( cx, cy, width(), fieldOfView, blocking, Math.round(viewDist) );
+			viewCache.castShadow( c.pos, width(), fieldOfView, blocking, blockingKind, Math.round(viewDist) );
 		} else {
 			BArray.setFalse(fieldOfView);
 		}
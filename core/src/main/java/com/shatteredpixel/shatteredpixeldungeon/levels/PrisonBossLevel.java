@@ -439,7 +439,7 @@ public class PrisonBossLevel extends Level {
 				Mob.restoreAllies(this, Dungeon.hero.pos, doorPos);
 				
 				tengu.state = tengu.HUNTING;
-				tengu.pos = tenguPos;
+				tengu.setPos( tenguPos );
 				GameScene.add( tengu, 1 );
 				tengu.notice();
 
@@ -487,7 +487,7 @@ public class PrisonBossLevel extends Level {
 				cleanMapState();
 				
 				tengu.state = tengu.HUNTING;
-				tengu.pos = (arena.left + arena.width()/2) + width()*(arena.top+2);
+				tengu.setPos( (arena.left + arena.width()/2) + width()*(arena.top+2) );
 				GameScene.add( tengu, 1 );
 				tengu.notice();
 
@@ -504,12 +504,12 @@ public class PrisonBossLevel extends Level {
 				unseal();
 				
 				Dungeon.hero.interrupt();
-				Dungeon.hero.pos = tenguCell.left+4 + (tenguCell.top+2)*width();
+				Dungeon.hero.setPos( tenguCell.left+4 + (tenguCell.top+2)*width() );
 				Dungeon.hero.sprite.interruptMotion();
 				Dungeon.hero.sprite.place(Dungeon.hero.pos);
 				Camera.main.snapTo(Dungeon.hero.sprite.center());
 				
-				tengu.pos = pointToCell(tenguCellCenter);
+				tengu.setPos( pointToCell(tenguCellCenter) );
 				tengu.sprite.place(tengu.pos);
 				
 				//remove all mobs, but preserve allies
@@ -525,7 +525,7 @@ public class PrisonBossLevel extends Level {
 				
 				for (Mob m : allies){
 					do{
-						m.pos = randomTenguCellPos();
+						m.setPos( randomTenguCellPos() );
 					} while (findMob(m.pos) != null || m.pos == Dungeon.hero.pos);
 					if (m.sprite != null) m.sprite.place(m.pos);
 					mobs.add(m);
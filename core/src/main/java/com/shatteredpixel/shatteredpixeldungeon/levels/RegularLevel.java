@@ -263,7 +263,7 @@ public abstract class RegularLevel extends Level {
 
 			int tries = 30;
 			do {
-				mob.pos = pointToCell(roomToSpawn.random());
+				mob.setPos( pointToCell(roomToSpawn.random()) );
 				tries--;
 			} while (tries >= 0 && (findMob(mob.pos) != null
 					|| entranceFOV[mob.pos] || PathFinder.distance[mob.pos] != Integer.MAX_VALUE
@@ -285,7 +285,7 @@ public abstract class RegularLevel extends Level {
 
 					tries = 30;
 					do {
-						mob.pos = pointToCell(roomToSpawn.random());
+						mob.setPos( pointToCell(roomToSpawn.random()) );
 						tries--;
 					} while (tries >= 0 && (findMob(mob.pos) != null
 							|| entranceFOV[mob.pos] || PathFinder.distance[mob.pos] != Integer.MAX_VALUE
@@ -0,0 +1,73 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.levels;
+
+import java.util.Arrays;
+
+//For each cell of a level, whether blobs can be in it, and which of its neighbours they can spread from.
+//This is worked out from the level's solid map and shared by every blob on that level which spreads,
+// so each one reads a single byte per cell as it spreads instead of the solid map five times over.
+//It is only worked out again when the solid map changes.
+public class SpreadMap {
+
+	public static final int OPEN   = 1;
+	public static final int LEFT   = 2;
+	public static final int RIGHT  = 4;
+	public static final int UP     = 8;
+	public static final int DOWN   = 16;
+
+	//the solid map the spread map was worked out from
+	private boolean[] solid;
+	private int width;
+
+	private byte[] spread;
+
+	public static byte[] get( Level level ){
+		SpreadMap map = level.spreadMap;
+		if (map.solid == null || map.width != level.width() || !Arrays.equals( map.solid, level.solid )){
+			map.solid = level.solid.clone();
+			map.width = level.width();
+			map.build();
+		}
+		return map.spread;
+	}
+
+	private void build(){
+		spread = new byte[solid.length];
+		//cells on the edge of the map are never open
+		for (int y = 1; y < solid.length / width - 1; y++){
+			for (int x = 1; x < width - 1; x++){
+				int cell = x + y*width;
+				if (solid[cell]){
+					continue;
+				}
+				int open = OPEN;
+				if (!solid[cell-1])     open |= LEFT;
+				if (!solid[cell+1])     open |= RIGHT;
+				if (!solid[cell-width]) open |= UP;
+				if (!solid[cell+width]) open |= DOWN;
+				spread[cell] = (byte)open;
+			}
+		}
+	}
+
+}
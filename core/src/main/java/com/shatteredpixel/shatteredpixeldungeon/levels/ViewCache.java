@@ -0,0 +1,84 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.levels;
+
+import com.shatteredpixel.shatteredpixeldungeon.mechanics.ShadowCaster;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Recent fields of view cast over a level, so that a character who hasn't moved, and whose sight isn't
+// changed by the terrain around it, doesn't cast its field of view again.
+//Results are kept by cell and view distance for each kind of blocking map (the level's own, or one
+// changed to see through grass or to be blocked by smoke), and are dropped as soon as that map changes.
+class ViewCache {
+
+	//kinds of blocking map, combined as bits
+	static final int SEE_THROUGH_GRASS  = 1;
+	static final int SMOKE              = 2;
+
+	private static final int CAPACITY = 64;
+
+	//the blocking maps the kept results were cast over
+	private final boolean[][] blocking = new boolean[4][];
+
+	//least recently used results are dropped first
+	private final LinkedHashMap<Long, boolean[]> results = new LinkedHashMap<Long, boolean[]>( 16, 0.75f, true ){
+		@Override
+		protected boolean removeEldestEntry( Map.Entry<Long, boolean[]> eldest ) {
+			return size() > CAPACITY;
+		}
+	};
+
+	//gives exactly what ShadowCaster.castShadow( cell % w, cell / w, w, fieldOfView, blocking, distance ) would
+	void castShadow( int cell, int w, boolean[] fieldOfView, boolean[] blocking, int kind, int distance ){
+		if (!Arrays.equals( this.blocking[kind], blocking )){
+			Iterator<Long> keys = results.keySet().iterator();
+			while (keys.hasNext()){
+				if (kind( keys.next() ) == kind){
+					keys.remove();
+				}
+			}
+			this.blocking[kind] = blocking.clone();
+		}
+
+		Long key = key( cell, kind, distance );
+		boolean[] result = results.get( key );
+		if (result != null && result.length == fieldOfView.length){
+			System.arraycopy( result, 0, fieldOfView, 0, result.length );
+		} else {
+			ShadowCaster.castShadow( cell % w, cell / w, w, fieldOfView, blocking, distance );
+			results.put( key, fieldOfView.clone() );
+		}
+	}
+
+	private static long key( int cell, int kind, int distance ){
+		return ((long)distance << 40) | ((long)kind << 32) | cell;
+	}
+
+	private static int kind( long key ){
+		return (int)(key >>> 32) & 0xFF;
+	}
+
+}
@@ -34,6 +34,7 @@ import com.shatteredpixel.shatteredpixeldungeon.effects.CellEmitter;
 import com.shatteredpixel.shatteredpixeldungeon.effects.particles.LeafParticle;
 import com.shatteredpixel.shatteredpixeldungeon.items.Dewdrop;
 import com.shatteredpixel.shatteredpixeldungeon.items.Generator;
+import com.shatteredpixel.shatteredpixeldungeon.items.Heap;
 import com.shatteredpixel.shatteredpixeldungeon.items.armor.glyphs.Camouflage;
 import com.shatteredpixel.shatteredpixeldungeon.items.artifacts.SandalsOfNature;
 import com.shatteredpixel.shatteredpixeldungeon.items.food.Berry;
@@ -127,11 +128,13 @@ public class HighGrass {
 				lootChance *= PetrifiedSeed.grassLootMultiplier();
 
 				if (Random.Float() < lootChance) {
+					Heap heap;
 					if (Random.Float() < PetrifiedSeed.stoneInsteadOfSeedChance()) {
-						level.drop(Generator.randomUsingDefaults(Generator.Category.STONE), pos).sprite.drop();
+						heap = level.drop(Generator.randomUsingDefaults(Generator.Category.STONE), pos);
 					} else {
-						level.drop(Generator.random(Generator.Category.SEED), pos).sprite.drop();
+						heap = level.drop(Generator.random(Generator.Category.SEED), pos);
 					}
+					if (heap.sprite != null) heap.sprite.drop();
 				}
 				
 				// Dew, scales from 1/6 to 1/4
@@ -143,7 +146,8 @@ public class HighGrass {
 				}
 
 				if (Random.Float() < lootChance) {
-					level.drop(new Dewdrop(), pos).sprite.drop();
+					Heap heap = level.drop(new Dewdrop(), pos);
+					if (heap.sprite != null) heap.sprite.drop();
 				}
 			}
 
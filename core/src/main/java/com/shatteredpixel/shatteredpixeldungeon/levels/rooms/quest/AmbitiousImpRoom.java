@@ -67,15 +67,15 @@ public class AmbitiousImpRoom extends SpecialRoom {
 
 		Door entrance = entrance();
 		Imp npc = new Imp();
-		npc.pos = level.pointToCell(c);
+		npc.setPos( level.pointToCell(c) );
 
 		//TODO we have imp in front for now, do we want to put him in the back?
 		if (entrance.x == left || entrance.x == right){
-			npc.pos += Random.IntRange(-1, 1)*level.width();
-			npc.pos += entrance.x == left ? -2 : 2;
+			npc.setPos( npc.pos + Random.IntRange(-1, 1)*level.width() );
+			npc.setPos( npc.pos + (entrance.x == left ? -2 : 2) );
 		} else if (entrance.y == top || entrance.y == bottom){
-			npc.pos += Random.IntRange(-1, 1);
-			npc.pos += level.width() * (entrance.y == top ? -2 : 2);
+			npc.setPos( npc.pos + Random.IntRange(-1, 1) );
+			npc.setPos( npc.pos + level.width() * (entrance.y == top ? -2 : 2) );
 		}
 		level.mobs.add( npc );
 
@@ -77,7 +77,7 @@ public class BlacksmithRoom extends StandardRoom {
 		
 		Blacksmith npc = new Blacksmith();
 		do {
-			npc.pos = level.pointToCell(random( 2 ));
+			npc.setPos( level.pointToCell(random( 2 )) );
 		} while (level.heaps.get( npc.pos ) != null);
 		level.mobs.add( npc );
 
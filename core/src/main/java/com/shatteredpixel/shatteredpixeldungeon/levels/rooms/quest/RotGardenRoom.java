@@ -174,7 +174,7 @@ public class RotGardenRoom extends SpecialRoom {
 	}
 
 	private static void placePlant(Level level, int pos, Mob plant){
-		plant.pos = pos;
+		plant.setPos( pos );
 		level.mobs.add( plant );
 
 		Painter.set(level, pos, Terrain.GRASS);
@@ -42,6 +42,7 @@ import com.watabou.utils.Random;
 import com.watabou.utils.Reflection;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 public class SecretLibraryRoom extends SecretRoom {
 	
@@ -55,7 +56,8 @@ public class SecretLibraryRoom extends SecretRoom {
 		return Math.max(7, super.minHeight());
 	}
 	
-	private static HashMap<Class<? extends Scroll>, Float> scrollChances = new HashMap<>();
+	//linked, so that chances are always rolled in the same order, class hash codes differ between processes
+	private static HashMap<Class<? extends Scroll>, Float> scrollChances = new LinkedHashMap<>();
 	static{
 		scrollChances.put( ScrollOfIdentify.class,      1f );
 		scrollChances.put( ScrollOfRemoveCurse.class,   2f );
@@ -86,7 +88,7 @@ public class SecretLibraryRoom extends SecretRoom {
 		entrance.set( Door.Type.HIDDEN );
 		
 		int n = Random.IntRange( 2, 3 );
-		HashMap<Class<? extends Scroll>, Float> chances = new HashMap<>(scrollChances);
+		HashMap<Class<? extends Scroll>, Float> chances = new LinkedHashMap<>(scrollChances);
 		for (int i=0; i < n; i++) {
 			int pos;
 			do {
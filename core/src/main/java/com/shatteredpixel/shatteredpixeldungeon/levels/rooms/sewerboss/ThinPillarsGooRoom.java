@@ -63,7 +63,7 @@ public class ThinPillarsGooRoom extends GooBossRoom {
 		setupGooNest(level);
 		
 		Goo boss = new Goo();
-		boss.pos = level.pointToCell(center());
+		boss.setPos( level.pointToCell(center()) );
 		level.mobs.add( boss );
 		
 	}
@@ -60,7 +60,7 @@ public class WalledGooRoom extends GooBossRoom {
 		setupGooNest(level);
 		
 		Goo boss = new Goo();
-		boss.pos = level.pointToCell(center());
+		boss.setPos( level.pointToCell(center()) );
 		level.mobs.add( boss );
 	}
 	
@@ -48,7 +48,7 @@ public class DemonSpawnerRoom extends SpecialRoom {
 		door.set(Door.Type.UNLOCKED); //cannot be hidden randomly under any circumstance
 
 		DemonSpawner spawner = new DemonSpawner();
-		spawner.pos = cx + cy * level.width();
+		spawner.setPos( cx + cy * level.width() );
 		Statistics.spawnersAlive++;
 		spawner.spawnRecorded = true;
 		level.mobs.add( spawner );
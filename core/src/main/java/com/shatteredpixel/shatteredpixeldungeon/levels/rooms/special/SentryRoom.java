@@ -157,7 +157,7 @@ public class SentryRoom extends SpecialRoom {
 
 		Painter.set(level, sentryPos, Terrain.PEDESTAL);
 		Sentry sentry = new Sentry();
-		sentry.pos = level.pointToCell(sentryPos);
+		sentry.setPos( level.pointToCell(sentryPos) );
 		sentry.room = new EmptyRoom();
 		sentry.room.set((Rect)this);
 		sentry.initialChargeDelay = sentry.curChargeDelay = dangerDist / 3f + 0.1f;
@@ -264,7 +264,7 @@ public class SentryRoom extends SpecialRoom {
 						&& !Dungeon.hero.belongings.lostInventory()){
 
 					if (curChargeDelay > 0.001f){ //helps prevent rounding errors
-						if (curChargeDelay == initialChargeDelay) {
+						if (curChargeDelay == initialChargeDelay && sprite != null) {
 							((SentrySprite) sprite).charge();
 						}
 						curChargeDelay -= Dungeon.hero.cooldown();
@@ -276,8 +276,12 @@ public class SentryRoom extends SpecialRoom {
 
 					if (curChargeDelay <= .001f){
 						curChargeDelay = 1f;
-						sprite.zap(Dungeon.hero.pos);
-						((SentrySprite) sprite).charge();
+						if (sprite != null) {
+							sprite.zap(Dungeon.hero.pos);
+							((SentrySprite) sprite).charge();
+						} else {
+							onZapComplete();
+						}
 					}
 
 					spend(Dungeon.hero.cooldown());
@@ -285,7 +289,7 @@ public class SentryRoom extends SpecialRoom {
 
 				} else {
 					curChargeDelay = initialChargeDelay;
-					sprite.idle();
+					if (sprite != null) sprite.idle();
 				}
 
 				spend(Dungeon.hero.cooldown());
@@ -303,7 +307,7 @@ public class SentryRoom extends SpecialRoom {
 					Dungeon.fail(this);
 					GLog.n(Messages.capitalize(Messages.get(Char.class, "kill", name())));
 				}
-			} else {
+			} else if (Dungeon.hero.sprite != null) {
 				Dungeon.hero.sprite.showStatus( CharSprite.NEUTRAL,  Dungeon.hero.defenseVerb() );
 			}
 		}
@@ -63,6 +63,7 @@ import com.watabou.utils.Random;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 public class ShopRoom extends SpecialRoom {
 
@@ -117,7 +118,7 @@ public class ShopRoom extends SpecialRoom {
 		int pos = level.pointToCell(center());
 
 		Mob shopkeeper = new Shopkeeper();
-		shopkeeper.pos = pos;
+		shopkeeper.setPos( pos );
 		level.mobs.add( shopkeeper );
 
 	}
@@ -361,7 +362,8 @@ public class ShopRoom extends SpecialRoom {
 	protected static Bag ChooseBag(Belongings pack){
 
 		//generate a hashmap of all valid bags.
-		HashMap<Bag, Integer> bags = new HashMap<>();
+		//linked, so ties are broken in this order rather than by hash codes, which differ between processes
+		HashMap<Bag, Integer> bags = new LinkedHashMap<>();
 		if (!Dungeon.LimitedDrops.VELVET_POUCH.dropped()) bags.put(new VelvetPouch(), 1);
 		if (!Dungeon.LimitedDrops.SCROLL_HOLDER.dropped()) bags.put(new ScrollHolder(), 0);
 		if (!Dungeon.LimitedDrops.POTION_BANDOLIER.dropped()) bags.put(new PotionBandolier(), 0);
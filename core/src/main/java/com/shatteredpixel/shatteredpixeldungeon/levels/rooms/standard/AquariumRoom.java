@@ -67,7 +67,7 @@ public class AquariumRoom extends StandardRoom {
 		for (int i=0; i < numFish; i++) {
 			Piranha piranha = Piranha.random();
 			do {
-				piranha.pos = level.pointToCell(random(3));
+				piranha.setPos( level.pointToCell(random(3)) );
 			} while (level.map[piranha.pos] != Terrain.WATER|| level.findMob( piranha.pos ) != null);
 			level.mobs.add( piranha );
 		}
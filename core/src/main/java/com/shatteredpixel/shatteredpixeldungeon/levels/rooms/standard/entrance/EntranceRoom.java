@@ -101,7 +101,8 @@ public class EntranceRoom extends StandardRoom {
 
 	public static void placeEarlyGuidePages(Level level, Room r){
 		//use a separate generator here so meta progression doesn't affect levelgen
-		Random.pushGenerator();
+		//it is still seeded so that page placement is reproducible for a given dungeon seed
+		Random.pushGenerator( Dungeon.seedCurDepth()+1 );
 
 		//places the first guidebook page on floor 1
 		if (Dungeon.depth == 1 &&
@@ -37,9 +37,9 @@ import com.shatteredpixel.shatteredpixeldungeon.items.weapon.missiles.MissileWea
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 import com.shatteredpixel.shatteredpixeldungeon.utils.GLog;
 import com.watabou.noosa.audio.Sample;
+import com.watabou.utils.Random;
 
 import java.util.ArrayList;
-import java.util.Collections;
 
 public class CursingTrap extends Trap {
 
@@ -90,8 +90,8 @@ public class CursingTrap extends Trap {
 				canCurse.add(armor);
 		}
 
-		Collections.shuffle(priorityCurse);
-		Collections.shuffle(canCurse);
+		Random.shuffle(priorityCurse);
+		Random.shuffle(canCurse);
 
 		if (!priorityCurse.isEmpty()){
 			curse(priorityCurse.remove(0));
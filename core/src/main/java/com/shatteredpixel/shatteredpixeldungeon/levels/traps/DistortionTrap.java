@@ -146,7 +146,7 @@ public class DistortionTrap extends Trap{
 			if (mob.state != mob.PASSIVE) {
 				mob.state = mob.WANDERING;
 			}
-			mob.pos = point;
+			mob.setPos( point );
 			GameScene.add(mob, DELAY);
 			mobs.add(mob);
 		}
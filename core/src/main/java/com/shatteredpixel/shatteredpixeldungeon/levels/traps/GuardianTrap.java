@@ -60,7 +60,7 @@ public class GuardianTrap extends Trap {
 			Guardian guardian = new Guardian();
 			guardian.createWeapon(false);
 			guardian.state = guardian.WANDERING;
-			guardian.pos = Dungeon.level.randomRespawnCell( guardian );
+			guardian.setPos( Dungeon.level.randomRespawnCell( guardian ) );
 			if (guardian.pos != -1) {
 				GameScene.add(guardian);
 				guardian.beckon(Dungeon.hero.pos);
@@ -82,7 +82,7 @@ public class SummoningTrap extends Trap {
 				if (mob.state != mob.PASSIVE) {
 					mob.state = mob.WANDERING;
 				}
-				mob.pos = point;
+				mob.setPos( point );
 				GameScene.add(mob, DELAY);
 				mobs.add(mob);
 			}
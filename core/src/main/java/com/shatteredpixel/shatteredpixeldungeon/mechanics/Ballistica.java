@@ -54,24 +54,30 @@ public class Ballistica {
 	public Ballistica( int from, int to, int params ){
 		sourcePos = from;
 		collisionProperties = params;
-		build(from, to,
-				(params & STOP_TARGET) > 0,
-				(params & STOP_CHARS) > 0,
-				(params & STOP_SOLID) > 0,
-				(params & IGNORE_SOFT_SOLID) > 0);
-
-		if (collisionPos != null) {
-			dist = path.indexOf(collisionPos);
-		} else if (!path.isEmpty()) {
-			collisionPos = path.get(dist = path.size() - 1);
-		} else {
+		collisionPos = trace( from, to, params, path );
+
+		if (path.isEmpty()) {
 			path.add(from);
-			collisionPos = from;
-			dist = 0;
 		}
+		//the path moves one cell further along its longer axis with each step, so this is the collision's index in it
+		dist = Dungeon.level.distance( from, collisionPos );
+	}
+
+	//the cell that a Ballistica from one cell to another would collide at, without building its path.
+	//This is much cheaper when only the collision is needed, such as when checking if a target can be hit
+	public static int collision( int from, int to, int params ){
+		return trace( from, to, params, null );
 	}
 
-	private void build( int from, int to, boolean stopTarget, boolean stopChars, boolean stopTerrain, boolean ignoreSoftSolid ) {
+	//walks the path of a projectile, adding each cell to path if it is given.
+	//Returns the first cell it collides at, or the last cell of the path if it never collides.
+	//Without a path to build the walk can end at the collision, otherwise it continues to the edge of the map
+	private static int trace( int from, int to, int params, ArrayList<Integer> path ) {
+		boolean stopTarget = (params & STOP_TARGET) > 0;
+		boolean stopChars = (params & STOP_CHARS) > 0;
+		boolean stopTerrain = (params & STOP_SOLID) > 0;
+		boolean ignoreSoftSolid = (params & IGNORE_SOFT_SOLID) > 0;
+
 		int w = Dungeon.level.width();
 
 		int x0 = from % w;
@@ -109,6 +115,9 @@ public class Ballistica {
 
 		}
 
+		int collision = -1;
+		int prev = from;
+
 		int cell = from;
 
 		int err = dA / 2;
@@ -116,31 +125,38 @@ public class Ballistica {
 
 			//if we're in solid terrain, and there's no char there, collide with the previous cell.
 			// we don't use solid here because we don't want to stop short of closed doors.
-			if (collisionPos == null
+			if (collision == -1
 					&& stopTerrain
-					&& cell != sourcePos
+					&& cell != from
 					&& !Dungeon.level.passable[cell]
 					&& !Dungeon.level.avoid[cell]
 					&& Actor.findChar(cell) == null) {
-				collide(path.get(path.size() - 1));
+				collision = prev;
 			}
 
-			path.add(cell);
+			if (path != null) {
+				path.add(cell);
+			}
 
-			if (collisionPos == null && stopTerrain && cell != sourcePos && Dungeon.level.solid[cell]) {
+			if (collision == -1 && stopTerrain && cell != from && Dungeon.level.solid[cell]) {
 				if (ignoreSoftSolid && (Dungeon.level.passable[cell] || Dungeon.level.avoid[cell])) {
 					//do nothing
 				} else {
-					collide(cell);
+					collision = cell;
 				}
 			}
-			if (collisionPos == null && cell != sourcePos && stopChars && Actor.findChar( cell ) != null) {
-				collide(cell);
+			if (collision == -1 && cell != from && stopChars && Actor.findChar( cell ) != null) {
+				collision = cell;
+			}
+			if (collision == -1 && cell == to && stopTarget){
+				collision = cell;
 			}
-			if (collisionPos == null && cell == to && stopTarget){
-				collide(cell);
+
+			if (collision != -1 && path == null){
+				return collision;
 			}
 
+			prev = cell;
 			cell += stepA;
 
 			err += dB;
@@ -149,13 +165,8 @@ public class Ballistica {
 				cell = cell + stepB;
 			}
 		}
-	}
 
-	//we only want to record the first position collision occurs at.
-	private void collide(int cell){
-		if (collisionPos == null) {
-			collisionPos = cell;
-		}
+		return collision != -1 ? collision : prev;
 	}
 
 	//returns a segment of the path from start to end, inclusive.
@@ -22,6 +22,8 @@
 package com.shatteredpixel.shatteredpixeldungeon.mechanics;
 
 import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.levels.ConeArcs;
+import com.shatteredpixel.shatteredpixeldungeon.levels.ConeArcs.Arc;
 import com.watabou.utils.GameMath;
 import com.watabou.utils.Point;
 import com.watabou.utils.PointF;
@@ -47,13 +49,34 @@ public class ConeAOE {
 
 		coreRay = core;
 
+		Arc arc = arc( core.sourcePos, core.collisionPos, maxDist, degrees );
+
+		//cast a ray to each found cell, these make up the cone
+		//we don't add the core ray as its collision properties may differ from the cone
+		for (int i = 0; i < arc.targets.length; i++){
+			Ballistica ray = new Ballistica(core.sourcePos, arc.targets[i], ballisticaParams);
+			cells.addAll(ray.subPath(1, ray.dist));
+			rays.add(ray);
+			if (arc.outer[i]){
+				outerRays.add(ray);
+			}
+		}
+
+	}
+
+	private static Arc arc( int from, int to, float maxDist, float degrees ){
+		Arc arc = ConeArcs.get( Dungeon.level, from, to, maxDist, degrees );
+		if (arc != null){
+			return arc;
+		}
+
 		//we want to use true coordinates for our trig functions, not game cells
 		// so get the center of from and to as points
-		PointF fromP = new PointF(Dungeon.level.cellToPoint(core.sourcePos));
+		PointF fromP = new PointF(Dungeon.level.cellToPoint(from));
 		fromP.x += 0.5f;
 		fromP.y += 0.5f;
 
-		PointF toP = new PointF(Dungeon.level.cellToPoint(core.collisionPos));
+		PointF toP = new PointF(Dungeon.level.cellToPoint(to));
 		toP.x += 0.5f;
 		toP.y += 0.5f;
 
@@ -100,17 +123,18 @@ public class ConeAOE {
 			}
 		}
 
-		//cast a ray to each found cell, these make up the cone
-		//we don't add the core ray as its collision properties may differ from the cone
-		for( int c : targetCells ){
-			Ballistica ray = new Ballistica(core.sourcePos, c, ballisticaParams);
-			cells.addAll(ray.subPath(1, ray.dist));
-			rays.add(ray);
-			if (outerCells.contains(c)){
-				outerRays.add(ray);
-			}
+		int[] targets = new int[targetCells.size()];
+		boolean[] outer = new boolean[targetCells.size()];
+		int i = 0;
+		for (int c : targetCells){
+			targets[i] = c;
+			outer[i] = outerCells.contains(c);
+			i++;
 		}
 
+		arc = new Arc( from, to, maxDist, degrees, targets, outer );
+		ConeArcs.add( Dungeon.level, arc );
+		return arc;
 	}
 
 }
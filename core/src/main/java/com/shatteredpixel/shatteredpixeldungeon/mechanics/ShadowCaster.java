@@ -45,6 +45,16 @@ public final class ShadowCaster {
 		}
 	}
 	
+	//the same as rounding, except that at a distance of 2 the corners are filled in.
+	//At that distance vision would otherwise disproportionately punish diagonal movement,
+	// even though removing corners is technically correct
+	private static int[][] limits;
+	static {
+		limits = rounding.clone();
+		limits[2] = rounding[2].clone();
+		limits[2][2] = 2;
+	}
+	
 	public static void castShadow( int x, int y, int w, boolean[] fieldOfView, boolean[] blocking, int distance ) {
 		
 		if (distance >= MAX_DISTANCE){
@@ -58,14 +68,14 @@ public final class ShadowCaster {
 		
 		//scans octants, clockwise
 		try {
-			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0.0, 1.0, +1, -1, false);
-			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0.0, 1.0, -1, +1, true);
-			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0.0, 1.0, +1, +1, true);
-			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0.0, 1.0, +1, +1, false);
-			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0.0, 1.0, -1, +1, false);
-			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0.0, 1.0, +1, -1, true);
-			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0.0, 1.0, -1, -1, true);
-			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0.0, 1.0, -1, -1, false);
+			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0, 1, 1, 1, +1, -1, false);
+			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0, 1, 1, 1, -1, +1, true);
+			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0, 1, 1, 1, +1, +1, true);
+			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0, 1, 1, 1, +1, +1, false);
+			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0, 1, 1, 1, -1, +1, false);
+			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0, 1, 1, 1, +1, -1, true);
+			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0, 1, 1, 1, -1, -1, true);
+			scanOctant(distance, fieldOfView, blocking, 1, x, y, w, 0, 1, 1, 1, -1, -1, false);
 		} catch (Exception e){
 			ShatteredPixelDungeon.reportException(e);
 			BArray.setFalse(fieldOfView);
@@ -75,47 +85,44 @@ public final class ShadowCaster {
 	
 	//scans a single 45 degree octant of the FOV.
 	//This can add up to a whole FOV by mirroring in X(mX), Y(mY), and X=Y(mXY)
+	//The left and right slopes are fractions (lNum/lDen and rNum/rDen) of whole numbers, so all of the
+	// calculations below are exact. They give the same results as working with the slopes as doubles,
+	// as the 0.499 offsets keep every result well clear of the whole numbers it could be rounded to.
 	private static void scanOctant(int distance, boolean[] fov, boolean[] blocking, int row,
-	                               int x, int y, int w, double lSlope, double rSlope,
+	                               int x, int y, int w, int lNum, int lDen, int rNum, int rDen,
 	                               int mX, int mY, boolean mXY){
 		
 		boolean inBlocking = false;
 		int start, end;
 		int col;
 
-		int[] roundingAtDist;
-		if (distance == 2){
-			//at a visibility distance of 2 we fill in the corners of vision
-			// as otherwise this vision range disproportionately punishes diagonal movement,
-			// even though removing corners is technically correct
-			roundingAtDist = rounding[distance].clone();
-			roundingAtDist[2] = 2;
-		} else {
-			roundingAtDist = rounding[distance];
-		}
+		int[] roundingAtDist = limits[distance];
+
+		//the change in cell when moving along a row, and when moving out by a row
+		int colStep = mXY ? mX*w : mX;
+		int rowStep = mXY ? mY : mY*w;
 		
-		//calculations are offset by 0.5 because FOV is coming from the center of the source cell
+		//calculations are offset by 0.5 because FOV is coming from the center of the source cell,
+		// so they're done in halves: a cell's edges are at 2*col-1 and 2*col+1
 		
 		//for each row, starting with the current one
 		for (; row <= distance; row++){
 
 			//if we have negative space to traverse, just quit.
-			if (rSlope < lSlope) return;
+			if (rNum*lDen < lNum*rDen) return;
 			
 			//we offset by slightly less than 0.5 to account for slopes just touching a cell
-			if (lSlope == 0)    start = 0;
-			else                start = (int)Math.floor((row - 0.5) * lSlope + 0.499);
+			//floor((row - 0.5) * lSlope + 0.499)
+			if (lNum == 0)      start = 0;
+			else                start = ((2*row - 1)*lNum*1000 + 998*lDen) / (2000*lDen);
 			
-			if (rSlope == 1)    end = roundingAtDist[row];
+			//ceil((row + 0.5) * rSlope - 0.499)
+			if (rNum == rDen)   end = roundingAtDist[row];
 			else                end = Math.min( roundingAtDist[row],
-			                                    (int)Math.ceil((row + 0.5) * rSlope - 0.499));
-			
-			//coordinates of source
-			int cell = x + y*w;
+			                                    ceilDiv((2*row + 1)*rNum*1000 - 998*rDen, 2000*rDen));
 			
-			//plus coordinates of current cell (including mirroring in x, y, and x=y)
-			if (mXY)    cell += mX*start*w + mY*row;
-			else        cell += mX*start + mY*row*w;
+			//coordinates of source, plus coordinates of current cell (including mirroring in x, y, and x=y)
+			int cell = x + y*w + start*colStep + row*rowStep;
 			
 			//for each column in this row, which
 			for (col = start; col <= end; col++){
@@ -123,7 +130,8 @@ public final class ShadowCaster {
 
 				//handles the error case of the slope value at the end of a cell being 1 farther
 				// along then at the beginning of the cell, and that earlier cell is vision blocking
-				if (col == end && inBlocking && (int)Math.ceil((row - 0.5) * rSlope - 0.499) != end){
+				//ceil((row - 0.5) * rSlope - 0.499)
+				if (col == end && inBlocking && ceilDiv((2*row - 1)*rNum*1000 - 998*rDen, 2000*rDen) != end){
 					break;
 				}
 				
@@ -135,9 +143,9 @@ public final class ShadowCaster {
 						
 						//start a new scan, 1 row deeper, ending at the left side of current cell
 						if (col != start){
-							scanOctant(distance, fov, blocking, row+1, x, y, w, lSlope,
-									//change in x over change in y
-									(col - 0.5) / (row + 0.5),
+							scanOctant(distance, fov, blocking, row+1, x, y, w, lNum, lDen,
+									//change in x over change in y, (col - 0.5) / (row + 0.5)
+									2*col - 1, 2*row + 1,
 									mX, mY, mXY);
 						}
 					}
@@ -148,13 +156,13 @@ public final class ShadowCaster {
 						
 						//restrict current scan to the left side of current cell for future rows
 						
-						//change in x over change in y
-						lSlope = (col - 0.5) / (row - 0.5);
+						//change in x over change in y, (col - 0.5) / (row - 0.5)
+						lNum = 2*col - 1;
+						lDen = 2*row - 1;
 					}
 				}
 				
-				if (!mXY)   cell += mX;
-				else        cell += mX*w;
+				cell += colStep;
 				
 			}
 			
@@ -162,4 +170,8 @@ public final class ShadowCaster {
 			if (inBlocking) return;
 		}
 	}
+
+	private static int ceilDiv( int num, int den ){
+		return -Math.floorDiv( -num, den );
+	}
 }
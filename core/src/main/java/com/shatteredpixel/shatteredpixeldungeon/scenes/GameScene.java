@@ -1156,6 +1156,10 @@ public class GameScene extends PixelScene {
 			scene.addMobSprite(mob);
 			Actor.addDelayed(mob, delay);
 			mob.spendToWhole();
+		//without a game instance (e.g. headless) there is never a scene, but mobs added in play must still act
+		} else if (Game.instance == null) {
+			Actor.addDelayed(mob, delay);
+			mob.spendToWhole();
 		}
 	}
 	
@@ -1612,11 +1616,11 @@ public class GameScene extends PixelScene {
 	}
 	
 	public static void checkKeyHold(){
-		cellSelector.processKeyHold();
+		if (cellSelector != null) cellSelector.processKeyHold();
 	}
 	
 	public static void resetKeyHold(){
-		cellSelector.resetKeyHold();
+		if (cellSelector != null) cellSelector.resetKeyHold();
 	}
 
 	public static void examineCell( Integer cell ) {
@@ -754,8 +754,8 @@ public class InterlevelScene extends PixelScene {
 
 			Dungeon.hero.resurrect();
 			level = Dungeon.newLevel();
-			Dungeon.hero.pos = level.randomRespawnCell(Dungeon.hero);
-			if (Dungeon.hero.pos == -1) Dungeon.hero.pos = level.entrance();
+			Dungeon.hero.setPos( level.randomRespawnCell(Dungeon.hero) );
+			if (Dungeon.hero.pos == -1) Dungeon.hero.setPos( level.entrance() );
 
 			for (Item i : preservedItems){
 				int pos = level.randomRespawnCell(null);
@@ -774,7 +774,7 @@ public class InterlevelScene extends PixelScene {
 			int invPos = Dungeon.hero.pos;
 			int tries = 0;
 			do {
-				Dungeon.hero.pos = level.randomRespawnCell(Dungeon.hero);
+				Dungeon.hero.setPos( level.randomRespawnCell(Dungeon.hero) );
 				tries++;
 
 			//prevents spawning on traps or plants, prefers farther locations first
@@ -194,6 +194,11 @@ public class AttackIndicator extends Tag {
 
 	public static void target(Char target ) {
 		if (target == null) return;
+		//no indicator without a game scene, but quickslot targeting still applies
+		if (instance == null) {
+			QuickSlotButton.target(target);
+			return;
+		}
 		synchronized (instance) {
 			instance.lastTarget = (Mob) target;
 			instance.updateImage();
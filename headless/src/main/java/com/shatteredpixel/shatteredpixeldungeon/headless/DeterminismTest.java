@@ -35,7 +35,7 @@ import java.util.List;
 /**
  * Test #1: Prove determinism with a "no-op" run.
  * 
- * Runs the same seed/class twice with WAIT actions.
+ * Runs the same seed/class twice with WAIT actions, one run after the other.
  * Verifies state hashes match 1:1 after each turn.
  */
 public class DeterminismTest {
@@ -66,12 +66,7 @@ public class DeterminismTest {
 		System.out.println("Running first instance...");
 		List<Long> hashes1 = runInstance(seed, heroClass, numTurns, 1);
 		
-		// CRITICAL: Reset ALL static state between runs
-		// The two instances run in the same JVM, so we must reset everything
-		System.out.println("Resetting static state between runs...");
-		resetAllStaticState();
-		
-		// Run 2
+		// Run 2, whose start resets the static state the first run left behind
 		System.out.println("Running second instance...");
 		List<Long> hashes2 = runInstance(seed, heroClass, numTurns, 2);
 		
@@ -104,44 +99,7 @@ public class DeterminismTest {
 		}
 	}
 	
-	private static void resetAllStaticState() {
-		// Reset RNG
-		com.watabou.utils.Random.resetGenerators();
-		
-		// Reset Actor system
-		com.shatteredpixel.shatteredpixeldungeon.actors.Actor.clear();
-		com.shatteredpixel.shatteredpixeldungeon.actors.Actor.resetNextID();
-		
-		// Reset Dungeon static state
-		com.shatteredpixel.shatteredpixeldungeon.Dungeon.level = null;
-		com.shatteredpixel.shatteredpixeldungeon.Dungeon.hero = null;
-		com.shatteredpixel.shatteredpixeldungeon.Dungeon.depth = 0;
-		com.shatteredpixel.shatteredpixeldungeon.Dungeon.branch = 0;
-		com.shatteredpixel.shatteredpixeldungeon.Dungeon.seed = 0;
-		com.shatteredpixel.shatteredpixeldungeon.Dungeon.customSeedText = "";
-		com.shatteredpixel.shatteredpixeldungeon.Dungeon.daily = false;
-		com.shatteredpixel.shatteredpixeldungeon.Dungeon.dailyReplay = false;
-		if (com.shatteredpixel.shatteredpixeldungeon.Dungeon.generatedLevels != null) {
-			com.shatteredpixel.shatteredpixeldungeon.Dungeon.generatedLevels.clear();
-		}
-		if (com.shatteredpixel.shatteredpixeldungeon.Dungeon.droppedItems != null) {
-			com.shatteredpixel.shatteredpixeldungeon.Dungeon.droppedItems.clear();
-		}
-		if (com.shatteredpixel.shatteredpixeldungeon.Dungeon.chapters != null) {
-			com.shatteredpixel.shatteredpixeldungeon.Dungeon.chapters.clear();
-		}
-		
-		// Reset GamesInProgress
-		com.shatteredpixel.shatteredpixeldungeon.GamesInProgress.selectedClass = null;
-		
-		// Note: Can't reset SPDSettings here because Gdx.app isn't initialized yet
-		// It will be set correctly in startNewGame()
-	}
-	
 	private static List<Long> runInstance(long seed, HeroClass heroClass, int numTurns, int instanceNum) {
-		// Reset static state before each instance
-		resetAllStaticState();
-		
 		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
 		config.updatesPerSecond = 0;
 		
@@ -149,13 +107,16 @@ public class DeterminismTest {
 		HeadlessApplication headlessApp = new HeadlessApplication(app, config);
 		
 		// Wait for initialization
-		try {
-			Thread.sleep(200);
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
+		DeterministicRunner runner = null;
+		for (int i = 0; i < 100 && runner == null; i++) {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+			runner = app.getRunner();
 		}
-		
-		DeterministicRunner runner = app.getRunner();
 		if (runner == null) {
 			throw new RuntimeException("Runner is null for instance " + instanceNum);
 		}
@@ -21,33 +21,103 @@
 
 package com.shatteredpixel.shatteredpixeldungeon.headless;
 
+import com.shatteredpixel.shatteredpixeldungeon.Bones;
 import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.GameContext;
+import com.shatteredpixel.shatteredpixeldungeon.GameSnapshot;
 import com.shatteredpixel.shatteredpixeldungeon.GamesInProgress;
 import com.shatteredpixel.shatteredpixeldungeon.SPDSettings;
 import com.shatteredpixel.shatteredpixeldungeon.ShatteredPixelDungeon;
+import com.shatteredpixel.shatteredpixeldungeon.StateHash;
 import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
 import com.shatteredpixel.shatteredpixeldungeon.actors.hero.Hero;
 import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroAction;
 import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
 import com.shatteredpixel.shatteredpixeldungeon.utils.DungeonSeed;
 import com.watabou.noosa.Game;
+import com.watabou.utils.Bundle;
 import com.watabou.utils.Random;
 
-import java.security.MessageDigest;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
 /**
  * Deterministic runner for headless game execution.
  * Provides step(action) interface that advances exactly one turn.
+ * 
+ * The game keeps the run being played in static fields, so only one runner's game
+ * can be live in a process. Starting a game, or restoring one, in a runner replaces
+ * whichever game was live, and a runner whose game was replaced throws
+ * IllegalStateException when it is used. Run a process per game to play several at once.
  */
 public final class DeterministicRunner {
 	
 	private final RunConfig config;
+	private final GameContext context = new GameContext();
 	private int turnCount = 0;
 	private long lastStateHash = 0;
+	private final Observation observation;
+	private boolean hashSteps = true;
+	
+	// The last snapshot restored and its decoded form, searches usually fork from one point many times
+	private Snapshot decodedSnapshot;
+	private Bundle decoded;
 	
 	public DeterministicRunner(RunConfig config) {
 		this.config = config;
+		this.observation = new Observation();
+	}
+	
+	/**
+	 * Creates a runner to take over from one that is finished with, e.g. when an environment resets.
+	 * The previous runner's observation buffer is reused, so the previous runner must not be used again.
+	 */
+	DeterministicRunner(RunConfig config, DeterministicRunner previous) {
+		this.config = config;
+		this.observation = previous.observation;
+	}
+	
+	/**
+	 * The context standing for this runner's game.
+	 * Enter it before reading Dungeon/Actor statics from outside the runner, to check the game is still live.
+	 */
+	public GameContext context() {
+		return context;
+	}
+	
+	/**
+	 * The multi-channel observation of the current level.
+	 * Rewritten in place by every step; see Observation for the buffer layout.
+	 */
+	public Observation observation() {
+		return observation;
+	}
+	
+	/**
+	 * Number of steps taken so far.
+	 */
+	public int turnCount() {
+		return turnCount;
+	}
+	
+	/**
+	 * Sets whether each step computes StepResult.stateHash, which is on by default.
+	 * The hash is recomputed from the whole game state, so turn this off when nothing
+	 * compares per-step hashes (e.g. training). Steps then return 0, and stateHash()
+	 * still computes the hash when it is needed.
+	 */
+	public void setHashSteps(boolean hashSteps) {
+		this.hashSteps = hashSteps;
+	}
+	
+	/**
+	 * Hash of the current game state, the same value a step returns in StepResult.stateHash.
+	 */
+	public long stateHash() {
+		context.enter();
+		return computeStateHash();
 	}
 	
 	/**
@@ -55,6 +125,64 @@ public final class DeterministicRunner {
 	 * This bypasses all UI and directly initializes the game state.
 	 */
 	public void startNewGame() {
+		context.start();
+		initNewGame();
+	}
+	
+	/**
+	 * Starts a new game, restoring it from the cache if this configuration was started before.
+	 * A cached start is identical to a generated one, it only skips level generation.
+	 * 
+	 * @param cache Games as they were just after starting, may be shared between runners
+	 */
+	public void startNewGame(GameCache cache) {
+		GameCache.Key key = GameCache.Key.start(config);
+		Snapshot start = cache.get(key);
+		if (start == null) {
+			startNewGame();
+			cache.put(key, snapshot());
+			return;
+		}
+		
+		context.start();
+		applySettings();
+		restoreSnapshot(start);
+	}
+	
+	/**
+	 * Generates this run's levels from depth 1 down to maxDepth, without playing them.
+	 * No actors act and nothing is saved, each level is only created and handed to the visitor.
+	 * 
+	 * Levels are generated in order from a fresh run, just as descending would, so they match
+	 * a played run's levels as long as the player's actions don't change what later levels
+	 * generate. This replaces any game the runner was playing.
+	 * 
+	 * @param visitor Called with each level while it is the current one, inside this runner's context
+	 */
+	public void generateLevels(int maxDepth, Consumer<Level> visitor) {
+		context.start();
+		applySettings();
+		Dungeon.initSeed();
+		Dungeon.seed = config.seed;
+		Dungeon.init();
+		
+		// The same generators a new game plays with, see initNewGame()
+		Random.resetGenerators();
+		Random.pushGenerator(config.seed);
+		
+		for (int depth = 1; depth <= maxDepth; depth++) {
+			Dungeon.depth = depth;
+			Dungeon.branch = 0;
+			Level level = Dungeon.newLevel();
+			Dungeon.level = level;
+			visitor.accept(level);
+		}
+	}
+	
+	/**
+	 * Sets the global settings and flags a run depends on, before it is generated or restored.
+	 */
+	private void applySettings() {
 		// Reset RNG generators first to ensure clean state
 		Random.resetGenerators();
 		
@@ -63,18 +191,32 @@ public final class DeterministicRunner {
 		
 		// Set challenges
 		SPDSettings.challenges(config.challenges);
+		
+		// Skip the tutorial layout, it hides the entrance room's doors behind a search
+		SPDSettings.intro(false);
 		Dungeon.mobsToChampion = config.mobsToChampion;
 		
 		// Set seed-related flags BEFORE initSeed()
 		Dungeon.daily = false;
 		Dungeon.dailyReplay = false;
 		
+		// Remains are shared between runs through a file, so a previous run's death would change this one
+		Bones.enabled = false;
+		
 		// CRITICAL: Set custom seed in SPDSettings BEFORE initSeed()
 		// initSeed() checks SPDSettings.customSeed() and if empty, generates a RANDOM seed!
 		// We need to set it so initSeed() uses our deterministic seed
 		String seedText = com.shatteredpixel.shatteredpixeldungeon.utils.DungeonSeed.convertToCode(config.seed);
 		SPDSettings.customSeed(seedText);
 		
+		// Disable audio in headless mode
+		com.watabou.noosa.audio.Music.INSTANCE.enable(false);
+		com.watabou.noosa.audio.Sample.INSTANCE.enable(false);
+	}
+	
+	private void initNewGame() {
+		applySettings();
+		
 		// Now initSeed() will use our seed
 		Dungeon.initSeed();
 		
@@ -120,7 +262,7 @@ public final class DeterministicRunner {
 			com.watabou.utils.PathFinder.setMapSize(level.width(), level.height());
 			Dungeon.level = level;
 			if (Dungeon.hero != null) {
-				Dungeon.hero.pos = pos;
+				Dungeon.hero.setPos(pos);
 				com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob.restoreAllies(level, pos);
 				com.shatteredpixel.shatteredpixeldungeon.actors.Actor.init();
 				level.addRespawner();
@@ -130,7 +272,7 @@ public final class DeterministicRunner {
 					if (m.pos == Dungeon.hero.pos && !com.shatteredpixel.shatteredpixeldungeon.actors.Char.hasProp(m, com.shatteredpixel.shatteredpixeldungeon.actors.Char.Property.IMMOVABLE)) {
 						for (int i : com.watabou.utils.PathFinder.NEIGHBOURS8) {
 							if (com.shatteredpixel.shatteredpixeldungeon.actors.Actor.findChar(m.pos + i) == null && level.passable[m.pos + i]) {
-								m.pos += i;
+								m.setPos(m.pos + i);
 								break;
 							}
 						}
@@ -152,7 +294,7 @@ public final class DeterministicRunner {
 			if (Dungeon.hero != null && level != null) {
 				try {
 					int pos = level.getTransition(null).cell();
-					Dungeon.hero.pos = pos;
+					Dungeon.hero.setPos(pos);
 					com.shatteredpixel.shatteredpixeldungeon.actors.Actor.init();
 				} catch (Exception e2) {
 					throw new RuntimeException("Failed to initialize level", e2);
@@ -174,10 +316,6 @@ public final class DeterministicRunner {
 		hero.ready = false;
 		hero.curAction = null;
 		
-		// Disable audio in headless mode
-		com.watabou.noosa.audio.Music.INSTANCE.enable(false);
-		com.watabou.noosa.audio.Sample.INSTANCE.enable(false);
-		
 		// Process initial turn to get hero ready
 		advanceUntilNextPlayerTurn();
 		
@@ -185,6 +323,8 @@ public final class DeterministicRunner {
 		if (Dungeon.level == null) {
 			throw new RuntimeException("Dungeon.level became null after advanceUntilNextPlayerTurn");
 		}
+		
+		observation.write(turnCount);
 	}
 	
 	/**
@@ -202,10 +342,15 @@ public final class DeterministicRunner {
 	 * @return StepResult containing observation, reward, done flag, state hash, and info
 	 */
 	public StepResult step(HeadlessAction action) {
+		context.enter();
+		return doStep(action);
+	}
+	
+	private StepResult doStep(HeadlessAction action) {
 		// Check if episode already ended
 		if (Dungeon.hero == null || !Dungeon.hero.isAlive()) {
 			GameState state = extractState();
-			return new StepResult(state, 0, true, computeStateHash(), createInfo(true, "Hero already dead"));
+			return new StepResult(state, 0, true, hashSteps ? computeStateHash() : 0, createInfo(true, "Hero already dead"));
 		}
 		
 		// Verify hero is ready for input (should be true at start of step)
@@ -245,7 +390,7 @@ public final class DeterministicRunner {
 		float reward = calculateReward(preDepth, preHP, preGold, done);
 		
 		// Compute state hash for integrity checking
-		long stateHash = computeStateHash();
+		long stateHash = hashSteps ? computeStateHash() : 0;
 		
 		// Create info dict
 		Info info = createInfo(done, doneReason);
@@ -253,13 +398,61 @@ public final class DeterministicRunner {
 		turnCount++;
 		
 		// Log state hash every N turns for integrity checking
-		if (turnCount % 100 == 0) {
+		if (hashSteps && turnCount % 100 == 0) {
 			System.out.println("Turn " + turnCount + " state hash: " + stateHash);
 		}
 		
 		return new StepResult(state, reward, done, stateHash, info);
 	}
 	
+	/**
+	 * Captures the current game in memory, so it can be returned to later with restore().
+	 * 
+	 * Should be called between steps, when the hero is waiting for input. Nothing is
+	 * written to disk, and a snapshot can be restored any number of times, into this
+	 * runner or any other, including one in another process via toBytes().
+	 * Only the current level is captured, so restore() refuses a snapshot of a run
+	 * which had generated any other level.
+	 * 
+	 * @return A handle holding the captured game
+	 */
+	public Snapshot snapshot() {
+		context.enter();
+		return new Snapshot(GameSnapshot.take(), turnCount);
+	}
+	
+	/**
+	 * Replaces the current game with one captured by snapshot().
+	 * The game then continues exactly as it would have from the moment it was captured.
+	 * Restoring the same snapshot again reuses its decoded form, so repeated forks from one point are cheaper.
+	 * 
+	 * @param snapshot A handle returned by snapshot()
+	 * @throws IllegalArgumentException if the snapshot's run had generated levels other than its current one
+	 */
+	public void restore(Snapshot snapshot) {
+		context.start();
+		restoreSnapshot(snapshot);
+	}
+	
+	private void restoreSnapshot(Snapshot snapshot) {
+		try {
+			if (decodedSnapshot != snapshot) {
+				decoded = snapshot.game.decode();
+				decodedSnapshot = snapshot;
+			}
+			snapshot.game.restore(decoded);
+			turnCount = snapshot.turnCount;
+			
+			// Snapshots are taken at decision points, so the hero is waiting for input
+			Dungeon.hero.ready = true;
+			Dungeon.hero.curAction = null;
+			
+			observation.write(turnCount);
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to restore snapshot", e);
+		}
+	}
+	
 	/**
 	 * Calculates reward for the step.
 	 * Simple implementation: depth progress + survival bonus.
@@ -374,14 +567,14 @@ public final class DeterministicRunner {
 			hero.curAction = new HeroAction.PickUp(hero.pos);
 			
 		} else if (action == HeadlessAction.WAIT) {
-			// Wait: skip turn without moving
+			// Wait: spend one turn without moving, as the game's wait key does
 			hero.curAction = null;
-			hero.resting = false;
+			hero.rest(false);
 			
 		} else if (action == HeadlessAction.REST) {
-			// Rest: rest until fully healed or interrupted
+			// Rest: rest until fully healed or interrupted, as the game's rest key does
 			hero.curAction = null;
-			hero.resting = true;
+			hero.rest(true);
 			
 		} else {
 			// Unknown action, treat as wait
@@ -389,6 +582,12 @@ public final class DeterministicRunner {
 		}
 	}
 	
+	/**
+	 * Upper bound on actor turns processed in one step, guards against an
+	 * actor that never spends time. Resting can legitimately take many turns.
+	 */
+	private static final int MAX_ACTS_PER_STEP = 20000;
+	
 	/**
 	 * Advances the game until the next player turn or game ends.
 	 * 
@@ -397,172 +596,23 @@ public final class DeterministicRunner {
 	 * - OR episode ends (hero dies)
 	 * 
 	 * This ensures step() advances to the NEXT decision point, not just one tick.
-	 * Uses synchronous processing (no threads) for determinism.
+	 * Uses Actor.processUntil(), which runs synchronously on this thread.
 	 */
 	private void advanceUntilNextPlayerTurn() {
-		Hero hero = Dungeon.hero;
+		final Hero hero = Dungeon.hero;
 		if (hero == null || !hero.isAlive()) {
 			return;
 		}
 		
-		// Process actors synchronously until hero is ready or game ends
-		// This is a simplified version of Actor.process() that runs synchronously
-		int maxIterations = 500; // Safety limit (reduced for performance - should be < 100 per turn normally)
-		int iterations = 0;
-		int heroActCount = 0; // Track how many times hero acts
+		Actor.processUntil(() -> hero.ready && hero.curAction == null, MAX_ACTS_PER_STEP);
 		
-		try {
-			// Use reflection to access private Actor.current field
-			java.lang.reflect.Field currentField = Actor.class.getDeclaredField("current");
-			currentField.setAccessible(true);
-			java.lang.reflect.Field nowField = Actor.class.getDeclaredField("now");
-			nowField.setAccessible(true);
-			
-			while (iterations < maxIterations) {
-				// Check if hero is ready and no action is pending
-				Actor current = (Actor) currentField.get(null);
-				
-				// DECISION POINT: Hero is ready for next input when:
-				// - hero.ready == true (hero has completed its turn)
-				// - hero.curAction == null (no action pending)
-				// - current == null (no actor currently processing)
-				if (hero.ready && hero.curAction == null && current == null) {
-					// Hero is ready for next input - this is the decision point
-					break;
-				}
-				
-				// Safety: if hero has acted multiple times without becoming ready, force it
-				// This handles edge cases where ready() wasn't called properly
-				if (heroActCount > 5 && !hero.ready && hero.curAction == null) {
-					hero.ready = true;
-					break;
-				}
-				
-				// Check if hero died
-				if (hero == null || !hero.isAlive()) {
-					break;
-				}
-				
-				// Find next actor to process
-				Actor next = null;
-				float earliest = Float.MAX_VALUE;
-				
-			// Use reflection to access private/protected Actor fields
-			java.lang.reflect.Field timeField = Actor.class.getDeclaredField("time");
-			timeField.setAccessible(true);
-			java.lang.reflect.Field priorityField = Actor.class.getDeclaredField("actPriority");
-			priorityField.setAccessible(true);
-			java.lang.reflect.Method actMethod = Actor.class.getDeclaredMethod("act");
-			actMethod.setAccessible(true);
-			
-			for (Actor actor : Actor.all()) {
-				// In headless mode, sprites don't exist, so we skip sprite movement checks
-				float actorTime = timeField.getFloat(actor);
-				int actorPriority = priorityField.getInt(actor);
-				
-				float nextTime = (next != null) ? timeField.getFloat(next) : Float.MAX_VALUE;
-				int nextPriority = (next != null) ? priorityField.getInt(next) : Integer.MIN_VALUE;
-				
-				if (actorTime < earliest ||
-						(actorTime == earliest && 
-						 (next == null || actorPriority > nextPriority))) {
-					earliest = actorTime;
-					next = actor;
-				}
-			}
-			
-				if (next != null) {
-					// Process this actor
-					float nextTime = timeField.getFloat(next);
-					currentField.set(null, next);
-					nowField.setFloat(null, nextTime);
-					
-					boolean doNext = false;
-					boolean isHero = (next instanceof Hero);
-					if (isHero) heroActCount++;
-					
-					try {
-						doNext = (Boolean) actMethod.invoke(next);
-					} catch (Exception e) {
-						// Handle sprite-related exceptions in headless mode
-						Throwable cause = e.getCause();
-						if (cause instanceof NullPointerException && 
-							cause.getMessage() != null && 
-							cause.getMessage().contains("sprite")) {
-							// Hero.ready() or similar tried to access sprite
-							// Manually set hero ready state
-							if (isHero) {
-								Hero h = (Hero) next;
-								h.ready = true;
-								h.curAction = null;
-								h.damageInterrupt = true;
-								h.waitOrPickup = false;
-								// canSelfTrample is private, skip it
-								doNext = false; // Hero is ready, stop processing
-							} else {
-								// For other actors, just continue
-								doNext = false;
-							}
-						} else {
-							// Re-throw other exceptions
-							throw new RuntimeException("Error processing actor", e);
-						}
-					}
-					
-					if (!doNext) {
-						currentField.set(null, null);
-					}
-					
-					// Check if hero died
-					if (hero == null || !hero.isAlive()) {
-						currentField.set(null, null);
-						break;
-					}
-				} else {
-					// No more actors to process
-					// Hero should be ready now
-					if (hero != null && !hero.ready) {
-						hero.ready = true;
-						hero.curAction = null;
-					}
-					break;
-				}
-				
-				iterations++;
-				
-				// Safety check
-				if (hero == null || !hero.isAlive()) {
-					break;
-				}
-			}
-			
-			if (iterations >= maxIterations) {
-				System.err.println("WARNING: Max iterations reached in advanceUntilNextPlayerTurn");
-				// Force hero to be ready to break the loop
-				if (hero != null && hero.isAlive()) {
-					hero.ready = true;
-					hero.curAction = null;
-				}
-			}
-			
-			// Ensure hero is ready if still alive and no action pending
-			if (hero != null && hero.isAlive() && !hero.ready && hero.curAction == null) {
-				// In headless mode, we can't call ready() because it needs sprite
-				// So we manually set the ready state
-				hero.ready = true;
-				hero.curAction = null;
-				hero.damageInterrupt = true;
-				hero.waitOrPickup = false;
-				// canSelfTrample is private, skip it
-			}
-		} catch (Exception e) {
-			System.err.println("Error in advanceUntilNextPlayerTurn: " + e.getMessage());
-			e.printStackTrace();
-			// Fallback: just mark hero as ready
-			if (hero != null && hero.isAlive()) {
-				hero.ready = true;
-				hero.curAction = null;
-			}
+		if (hero.isAlive() && !(hero.ready && hero.curAction == null)) {
+			System.err.println("WARNING: Max actor turns reached in advanceUntilNextPlayerTurn");
+			// Force hero to be ready so the next step can be applied
+			hero.ready = true;
+			hero.curAction = null;
+			hero.damageInterrupt = true;
+			hero.waitOrPickup = false;
 		}
 	}
 	
@@ -571,7 +621,8 @@ public final class DeterministicRunner {
 	 */
 	private GameState extractState() {
 		if (Dungeon.hero == null) {
-			return new GameState(0, 0, 0, 0, 0, 0, new int[0], false);
+			observation.write(turnCount);
+			return new GameState(0, 0, 0, 0, 0, 0, observation, false);
 		}
 		
 		Hero hero = Dungeon.hero;
@@ -585,44 +636,70 @@ public final class DeterministicRunner {
 		int depth = Dungeon.depth;
 		int gold = Dungeon.gold;
 		
-		// Extract level map (simplified - just passable/not passable)
-		int[] map = new int[level.length()];
-		for (int i = 0; i < level.length(); i++) {
-			map[i] = level.passable[i] ? 1 : 0;
-		}
+		// Level channels are written into the reusable observation buffer, nothing is allocated per cell
+		observation.write(turnCount);
 		
 		boolean alive = hero.isAlive();
 		
-		return new GameState(heroX, heroY, heroHP, heroMaxHP, depth, gold, map, alive);
+		return new GameState(heroX, heroY, heroHP, heroMaxHP, depth, gold, observation, alive);
 	}
 	
 	/**
 	 * Computes a hash of the current game state for integrity checking.
+	 * Covers terrain, characters, buffs, heaps, blobs, the hero's items and the RNG state;
+	 * see StateHash.
 	 */
 	private long computeStateHash() {
-		try {
-			MessageDigest md = MessageDigest.getInstance("SHA-256");
-			
-			if (Dungeon.hero != null) {
-				Hero hero = Dungeon.hero;
-				md.update(String.format("pos:%d,hp:%d/%d,depth:%d,gold:%d",
-					hero.pos, hero.HP, hero.HT, Dungeon.depth, Dungeon.gold).getBytes());
-			}
-			
-			if (Dungeon.level != null) {
-				Level level = Dungeon.level;
-				md.update(String.format("level:%dx%d", level.width(), level.height()).getBytes());
-			}
-			
-			byte[] hash = md.digest();
-			// Convert first 8 bytes to long
-			long result = 0;
-			for (int i = 0; i < 8; i++) {
-				result = (result << 8) | (hash[i] & 0xFF);
-			}
-			return result;
-		} catch (Exception e) {
-			return 0;
+		return StateHash.compute();
+	}
+	
+	/**
+	 * Handle to a game captured by snapshot().
+	 * Immutable, so it can be shared between runners and threads.
+	 */
+	public static final class Snapshot {
+		private final GameSnapshot game;
+		private final int turnCount;
+		
+		private Snapshot(GameSnapshot game, int turnCount) {
+			this.game = game;
+			this.turnCount = turnCount;
+		}
+		
+		/**
+		 * Size of the captured game in memory, in bytes.
+		 */
+		public int size() {
+			return game.size();
+		}
+		
+		/**
+		 * Number of turns the runner had taken when this snapshot was captured.
+		 */
+		public int turn() {
+			return turnCount;
+		}
+		
+		/**
+		 * Encodes this snapshot, so it can be stored or passed to another process.
+		 */
+		public byte[] toBytes() {
+			byte[] bytes = game.toBytes();
+			ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 4);
+			buffer.putInt(turnCount);
+			buffer.put(bytes);
+			return buffer.array();
+		}
+		
+		/**
+		 * Decodes a snapshot written by toBytes().
+		 */
+		public static Snapshot fromBytes(byte[] bytes) throws IOException {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			int turnCount = buffer.getInt();
+			byte[] game = new byte[buffer.remaining()];
+			buffer.get(game);
+			return new Snapshot(GameSnapshot.fromBytes(game), turnCount);
 		}
 	}
 	
@@ -634,7 +711,7 @@ public final class DeterministicRunner {
 		public final GameState state;      // Observation (game state)
 		public final float reward;         // Reward for this step
 		public final boolean done;         // Episode ended?
-		public final long stateHash;       // State hash for integrity checking
+		public final long stateHash;       // State hash for integrity checking, 0 if the runner doesn't hash steps
 		public final Info info;            // Additional info (turn, depth, etc.)
 		
 		public StepResult(GameState state, float reward, boolean done, long stateHash, Info info) {
@@ -672,18 +749,18 @@ public final class DeterministicRunner {
 		public final int heroHP, heroMaxHP;
 		public final int depth;
 		public final int gold;
-		public final int[] map; // Simplified map representation
+		public final Observation observation; // Shared with the runner, overwritten by the next step
 		public final boolean alive;
 		
 		public GameState(int heroX, int heroY, int heroHP, int heroMaxHP, 
-		                 int depth, int gold, int[] map, boolean alive) {
+		                 int depth, int gold, Observation observation, boolean alive) {
 			this.heroX = heroX;
 			this.heroY = heroY;
 			this.heroHP = heroHP;
 			this.heroMaxHP = heroMaxHP;
 			this.depth = depth;
 			this.gold = gold;
-			this.map = map;
+			this.observation = observation;
 			this.alive = alive;
 		}
 	}
@@ -0,0 +1,176 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+
+package com.shatteredpixel.shatteredpixeldungeon.headless;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Games captured just after level generation, so that a run which was started
+ * before can be started again by restoring a snapshot instead of regenerating.
+ * 
+ * Entries are keyed by everything generation depends on: the seed, hero class,
+ * challenges, champion rate, and the depth and branch of the level. The cache
+ * holds at most a fixed number of bytes of snapshots, evicting the least
+ * recently used ones first.
+ * 
+ * Only starts are cached. Deeper levels are generated from the whole run so far
+ * (items already dropped, quests, the item generator's state), so two runs with
+ * the same seed reaching the same depth can still get different levels.
+ * 
+ * A cache is opt-in and may be shared by any number of runners.
+ */
+public final class GameCache {
+	
+	private final long maxBytes;
+	private final LinkedHashMap<Key, DeterministicRunner.Snapshot> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long bytes;
+	private int hits;
+	private int misses;
+	
+	/**
+	 * @param maxBytes The most memory the cached snapshots may use
+	 */
+	public GameCache(long maxBytes) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive");
+		}
+		this.maxBytes = maxBytes;
+	}
+	
+	/**
+	 * @return The cached snapshot, or null if there is none
+	 */
+	public synchronized DeterministicRunner.Snapshot get(Key key) {
+		DeterministicRunner.Snapshot snapshot = entries.get(key);
+		if (snapshot == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return snapshot;
+	}
+	
+	/**
+	 * Adds a snapshot, evicting the least recently used ones until the cache fits.
+	 * A snapshot larger than the whole cache is not kept.
+	 */
+	public synchronized void put(Key key, DeterministicRunner.Snapshot snapshot) {
+		// Checked first, as making room for it would evict every other entry and then it as well
+		if (snapshot.size() > maxBytes) {
+			return;
+		}
+		
+		DeterministicRunner.Snapshot previous = entries.put(key, snapshot);
+		if (previous != null) {
+			bytes -= previous.size();
+		}
+		bytes += snapshot.size();
+		
+		Iterator<Map.Entry<Key, DeterministicRunner.Snapshot>> eldest = entries.entrySet().iterator();
+		while (bytes > maxBytes && eldest.hasNext()) {
+			bytes -= eldest.next().getValue().size();
+			eldest.remove();
+		}
+	}
+	
+	public synchronized void clear() {
+		entries.clear();
+		bytes = 0;
+	}
+	
+	public synchronized int entries() {
+		return entries.size();
+	}
+	
+	/**
+	 * Memory used by the cached snapshots, in bytes.
+	 */
+	public synchronized long bytes() {
+		return bytes;
+	}
+	
+	public synchronized int hits() {
+		return hits;
+	}
+	
+	public synchronized int misses() {
+		return misses;
+	}
+	
+	/**
+	 * Identifies a generated level: the run's configuration, and the depth and branch.
+	 */
+	public static final class Key {
+		public final long seed;
+		public final HeroClass heroClass;
+		public final int challenges;
+		public final float mobsToChampion;
+		public final int depth;
+		public final int branch;
+		
+		public Key(RunConfig config, int depth, int branch) {
+			this.seed = config.seed;
+			this.heroClass = config.heroClass;
+			this.challenges = config.challenges;
+			this.mobsToChampion = config.mobsToChampion;
+			this.depth = depth;
+			this.branch = branch;
+		}
+		
+		/**
+		 * The key of a run's first level, as entered when the game starts.
+		 */
+		public static Key start(RunConfig config) {
+			return new Key(config, 1, 0);
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return seed == other.seed
+				&& heroClass == other.heroClass
+				&& challenges == other.challenges
+				&& Float.compare(mobsToChampion, other.mobsToChampion) == 0
+				&& depth == other.depth
+				&& branch == other.branch;
+		}
+		
+		@Override
+		public int hashCode() {
+			int hash = Long.hashCode(seed);
+			hash = hash * 31 + heroClass.ordinal();
+			hash = hash * 31 + challenges;
+			hash = hash * 31 + Float.floatToIntBits(mobsToChampion);
+			hash = hash * 31 + depth;
+			hash = hash * 31 + branch;
+			return hash;
+		}
+	}
+}
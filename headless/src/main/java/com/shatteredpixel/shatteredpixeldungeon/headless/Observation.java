@@ -0,0 +1,289 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.headless;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Blob;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.Hero;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
+import com.shatteredpixel.shatteredpixeldungeon.items.Heap;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Terrain;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Multi-channel observation of the current level, written into a reusable
+ * direct ByteBuffer so an external trainer can map it without copying.
+ * 
+ * Layout (little-endian):
+ * <pre>
+ * [0, HEADER_BYTES)          header, HEADER_INTS int32 fields, see H_* constants
+ * then CHANNELS byte planes  length bytes each, plane c starts at HEADER_BYTES + c * length
+ * then one int32 plane       CHAR_ID, starts at the offset stored in H_CHAR_ID_OFFSET
+ * </pre>
+ * 
+ * Byte planes, one byte per cell in row-major order (cell = x + y * width):
+ * <ul>
+ * <li>TERRAIN: the Terrain id from Level.map as the player would see it, so undiscovered
+ *     secret doors are walls and undiscovered secret traps are empty floor</li>
+ * <li>FOV: 1 if the hero can currently see the cell</li>
+ * <li>VISITED: 1 if the hero has seen the cell</li>
+ * <li>MAPPED: 1 if the cell was revealed without being seen (e.g. by magic mapping)</li>
+ * <li>ALIGNMENT: one of the ALIGN_* values</li>
+ * <li>HEAP: 0 no heap, otherwise Heap.Type ordinal + 1</li>
+ * <li>BLOB: total volume of all blobs on the cell, clamped to 255</li>
+ * </ul>
+ * The CHAR_ID plane holds the actor id of the character on each cell, 0 if none.
+ * 
+ * Characters are written wherever they stand, even outside the hero's view;
+ * mask with FOV/VISITED for a fog-of-war observation.
+ * 
+ * The buffer is overwritten on every step. It is only replaced by a larger one
+ * when a bigger level is entered, so keep a reference and compare with buffer().
+ */
+public final class Observation {
+	
+	/** Bumped whenever the layout changes. */
+	public static final int VERSION = 2;
+	
+	// Header fields, as int32 indices
+	public static final int H_VERSION         = 0;
+	public static final int H_WIDTH           = 1;
+	public static final int H_HEIGHT          = 2;
+	public static final int H_CHANNELS        = 3;
+	public static final int H_CHAR_ID_OFFSET  = 4;
+	public static final int H_HERO_POS        = 5;
+	public static final int H_HERO_HP         = 6;
+	public static final int H_HERO_HT         = 7;
+	public static final int H_DEPTH           = 8;
+	public static final int H_GOLD            = 9;
+	public static final int H_TURN            = 10;
+	public static final int H_ALIVE           = 11;
+	public static final int HEADER_INTS       = 16;
+	public static final int HEADER_BYTES      = HEADER_INTS * 4;
+	
+	// Byte planes
+	public static final int TERRAIN   = 0;
+	public static final int FOV       = 1;
+	public static final int VISITED   = 2;
+	public static final int MAPPED    = 3;
+	public static final int ALIGNMENT = 4;
+	public static final int HEAP      = 5;
+	public static final int BLOB      = 6;
+	public static final int CHANNELS  = 7;
+	
+	// ALIGNMENT values
+	public static final byte ALIGN_EMPTY   = 0;
+	public static final byte ALIGN_HERO    = 1;
+	public static final byte ALIGN_ALLY    = 2;
+	public static final byte ALIGN_NEUTRAL = 3;
+	public static final byte ALIGN_ENEMY   = 4;
+	
+	private ByteBuffer buffer = allocate(0);
+	private int length;
+	
+	/**
+	 * The buffer holding the last written observation.
+	 */
+	public ByteBuffer buffer() {
+		return buffer;
+	}
+	
+	/**
+	 * Number of cells in each plane of the last written observation.
+	 */
+	public int length() {
+		return length;
+	}
+	
+	/**
+	 * Number of bytes of the buffer used by the last written observation.
+	 */
+	public int size() {
+		return charIdOffset(length) + length * 4;
+	}
+	
+	/**
+	 * Byte offset of the given byte plane.
+	 */
+	public int planeOffset(int channel) {
+		return HEADER_BYTES + channel * length;
+	}
+	
+	/**
+	 * Byte offset of the CHAR_ID plane.
+	 */
+	public int charIdOffset() {
+		return charIdOffset(length);
+	}
+	
+	/**
+	 * Reads one byte plane value, for callers that do not map the buffer themselves.
+	 */
+	public int get(int channel, int cell) {
+		return buffer.get(planeOffset(channel) + cell) & 0xFF;
+	}
+	
+	/**
+	 * Reads the id of the character on a cell, 0 if none.
+	 */
+	public int charId(int cell) {
+		return buffer.getInt(charIdOffset() + cell * 4);
+	}
+	
+	/**
+	 * Reads one header field.
+	 */
+	public int header(int field) {
+		return buffer.getInt(field * 4);
+	}
+	
+	/**
+	 * Writes the current game state. Must be called inside the runner's context.
+	 */
+	void write(int turn) {
+		Hero hero = Dungeon.hero;
+		Level level = Dungeon.level;
+		if (hero == null || level == null) {
+			length = 0;
+			for (int i = 0; i < HEADER_INTS; i++) {
+				buffer.putInt(i * 4, 0);
+			}
+			buffer.putInt(H_VERSION * 4, VERSION);
+			buffer.putInt(H_CHANNELS * 4, CHANNELS);
+			buffer.putInt(H_CHAR_ID_OFFSET * 4, charIdOffset(0));
+			return;
+		}
+		
+		length = level.length();
+		if (buffer.capacity() < size()) {
+			buffer = allocate(size());
+		}
+		ByteBuffer buf = buffer;
+		
+		buf.putInt(H_VERSION * 4, VERSION);
+		buf.putInt(H_WIDTH * 4, level.width());
+		buf.putInt(H_HEIGHT * 4, level.height());
+		buf.putInt(H_CHANNELS * 4, CHANNELS);
+		buf.putInt(H_CHAR_ID_OFFSET * 4, charIdOffset(length));
+		buf.putInt(H_HERO_POS * 4, hero.pos);
+		buf.putInt(H_HERO_HP * 4, hero.HP);
+		buf.putInt(H_HERO_HT * 4, hero.HT);
+		buf.putInt(H_DEPTH * 4, Dungeon.depth);
+		buf.putInt(H_GOLD * 4, Dungeon.gold);
+		buf.putInt(H_TURN * 4, turn);
+		buf.putInt(H_ALIVE * 4, hero.isAlive() ? 1 : 0);
+		
+		int terrain = planeOffset(TERRAIN);
+		int fov = planeOffset(FOV);
+		int visited = planeOffset(VISITED);
+		int mapped = planeOffset(MAPPED);
+		boolean[] heroFOV = level.heroFOV;
+		for (int i = 0; i < length; i++) {
+			buf.put(terrain + i, (byte)disguise(level.map[i]));
+			buf.put(fov + i, heroFOV[i] ? (byte)1 : 0);
+			buf.put(visited + i, level.visited[i] ? (byte)1 : 0);
+			buf.put(mapped + i, level.mapped[i] ? (byte)1 : 0);
+		}
+		
+		// Sparse planes are cleared, then filled from the level's collections
+		int alignment = planeOffset(ALIGNMENT);
+		int ids = charIdOffset(length);
+		for (int i = alignment; i < ids; i++) {
+			buf.put(i, (byte)0);
+		}
+		for (int i = 0; i < length; i++) {
+			buf.putInt(ids + i * 4, 0);
+		}
+		
+		for (Mob mob : level.mobs) {
+			putChar(buf, alignment, ids, mob, alignmentOf(mob));
+		}
+		putChar(buf, alignment, ids, hero, ALIGN_HERO);
+		
+		int heaps = planeOffset(HEAP);
+		for (Heap heap : level.heaps.values()) {
+			if (heap.pos >= 0 && heap.pos < length) {
+				buf.put(heaps + heap.pos, (byte)(heap.type.ordinal() + 1));
+			}
+		}
+		
+		int blobs = planeOffset(BLOB);
+		for (Blob blob : level.blobs.values()) {
+			if (blob.volume <= 0 || blob.cur == null) {
+				continue;
+			}
+			for (int y = blob.area.top; y < blob.area.bottom; y++) {
+				for (int x = blob.area.left; x < blob.area.right; x++) {
+					int cell = x + y * level.width();
+					int value = blob.cur[cell];
+					if (value > 0) {
+						int total = Math.min(255, (buf.get(blobs + cell) & 0xFF) + value);
+						buf.put(blobs + cell, (byte)total);
+					}
+				}
+			}
+		}
+	}
+	
+	private void putChar(ByteBuffer buf, int alignment, int ids, Char ch, byte value) {
+		if (ch.pos >= 0 && ch.pos < length) {
+			buf.put(alignment + ch.pos, value);
+			buf.putInt(ids + ch.pos * 4, ch.id());
+		}
+	}
+	
+	// Secrets look like what they are hidden as until they are found, so they must not show through
+	private static int disguise(int terrain) {
+		switch (terrain) {
+			case Terrain.SECRET_DOOR:
+				return Terrain.WALL;
+			case Terrain.SECRET_TRAP:
+				return Terrain.EMPTY;
+			default:
+				return terrain;
+		}
+	}
+	
+	private static byte alignmentOf(Char ch) {
+		switch (ch.alignment) {
+			case ALLY:
+				return ALIGN_ALLY;
+			case NEUTRAL:
+				return ALIGN_NEUTRAL;
+			case ENEMY: default:
+				return ALIGN_ENEMY;
+		}
+	}
+	
+	private static int charIdOffset(int length) {
+		// Rounded up so the int32 plane is aligned
+		return (HEADER_BYTES + CHANNELS * length + 3) & ~3;
+	}
+	
+	private static ByteBuffer allocate(int size) {
+		return ByteBuffer.allocateDirect(Math.max(size, HEADER_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.headless;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+import com.watabou.noosa.Game;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads a replay written by ReplayWriter.
+ * 
+ * Actions are kept as one byte per turn and checkpoints stay compressed
+ * until they are restored, so even long replays stay small in memory.
+ * 
+ * A replay that stops without its end record, e.g. because the recording
+ * process died, is read as truncated: every complete record is kept, but the
+ * turns after its last checkpoint have no hash to be checked against.
+ */
+public final class ReplayReader {
+	
+	public final RunConfig config;
+	public final int buildVersion;
+	public final int checkpointInterval;
+	
+	private byte[] actions = new byte[256];
+	private int turns;
+	private long finalHash;
+	private boolean truncated;
+	private final List<Checkpoint> checkpoints = new ArrayList<>();
+	
+	private ReplayReader(RunConfig config, int buildVersion, int checkpointInterval) {
+		this.config = config;
+		this.buildVersion = buildVersion;
+		this.checkpointInterval = checkpointInterval;
+	}
+	
+	/**
+	 * Reads a whole replay from the stream. The stream is not closed.
+	 * The game must already be booted, as checkpoints and actions only replay the same
+	 * in the build that recorded them, so a replay from any other build is rejected.
+	 */
+	public static ReplayReader read(InputStream stream) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+		
+		if (in.readInt() != ReplayWriter.MAGIC) {
+			throw new IOException("Not a replay file");
+		}
+		int version = ReplayWriter.readVarInt(in);
+		if (version != ReplayWriter.VERSION) {
+			throw new IOException("Unsupported replay version " + version);
+		}
+		int buildVersion = ReplayWriter.readVarInt(in);
+		if (buildVersion != Game.versionCode) {
+			throw new IOException("Replay was recorded by build " + buildVersion + ", this is build " + Game.versionCode);
+		}
+		long seed = in.readLong();
+		HeroClass heroClass = HeroClass.valueOf(in.readUTF());
+		int challenges = ReplayWriter.readVarInt(in);
+		float mobsToChampion = in.readFloat();
+		int interval = ReplayWriter.readVarInt(in);
+		
+		ReplayReader reader = new ReplayReader(new RunConfig(seed, heroClass, challenges, mobsToChampion), buildVersion, interval);
+		HeadlessAction[] values = HeadlessAction.values();
+		
+		try {
+			while (true) {
+				int tag = ReplayWriter.readVarInt(in);
+				if (tag == ReplayWriter.END) {
+					if (ReplayWriter.readVarInt(in) != reader.turns) {
+						throw new IOException("Replay turn count does not match its actions");
+					}
+					reader.finalHash = in.readLong();
+					return reader;
+				} else if (tag == ReplayWriter.CHECKPOINT) {
+					int turn = ReplayWriter.readVarInt(in);
+					long stateHash = in.readLong();
+					byte[] snapshot = new byte[ReplayWriter.readVarInt(in)];
+					in.readFully(snapshot);
+					reader.checkpoints.add(new Checkpoint(turn, stateHash, snapshot));
+				} else if (tag < values.length) {
+					if (reader.turns == reader.actions.length) {
+						reader.actions = Arrays.copyOf(reader.actions, reader.actions.length * 2);
+					}
+					reader.actions[reader.turns++] = (byte)tag;
+				} else {
+					throw new IOException("Unknown replay record " + tag);
+				}
+			}
+		} catch (EOFException e) {
+			// The writer never finished, e.g. its process died. Anything cut off after the last complete record is dropped
+			if (reader.checkpoints.isEmpty()) {
+				throw new IOException("Replay ends before its first checkpoint");
+			}
+			reader.truncated = true;
+			return reader;
+		}
+	}
+	
+	/**
+	 * Number of turns in the replay.
+	 */
+	public int turns() {
+		return turns;
+	}
+	
+	/**
+	 * The action taken on the given turn, counting from 0.
+	 */
+	public HeadlessAction action(int turn) {
+		return HeadlessAction.values()[actions[turn]];
+	}
+	
+	/**
+	 * State hash after the last turn. Not recorded for a truncated replay, where this is 0.
+	 */
+	public long finalHash() {
+		return finalHash;
+	}
+	
+	/**
+	 * True if the replay has no end record, so it may stop partway through the run.
+	 */
+	public boolean truncated() {
+		return truncated;
+	}
+	
+	public List<Checkpoint> checkpoints() {
+		return checkpoints;
+	}
+	
+	/**
+	 * The last checkpoint at or before the given turn.
+	 */
+	public Checkpoint checkpointBefore(int turn) {
+		int low = 0, high = checkpoints.size() - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (checkpoints.get(mid).turn <= turn) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return checkpoints.get(low);
+	}
+	
+	/**
+	 * Puts the runner in the state the run was in after the given number of turns,
+	 * by restoring the nearest checkpoint and replaying the actions after it.
+	 * 
+	 * @return The state hash after the last replayed step, or the checkpoint's hash if none were needed
+	 */
+	public long seek(DeterministicRunner runner, int turn) throws IOException {
+		if (turn < 0 || turn > turns) {
+			throw new IllegalArgumentException("Turn " + turn + " is outside the replay (0-" + turns + ")");
+		}
+		Checkpoint checkpoint = checkpointBefore(turn);
+		runner.restore(checkpoint.snapshot());
+		
+		for (int t = checkpoint.turn; t < turn; t++) {
+			runner.step(action(t));
+		}
+		return turn == checkpoint.turn ? checkpoint.stateHash : runner.stateHash();
+	}
+	
+	/**
+	 * An embedded snapshot of the run after a number of turns.
+	 */
+	public static final class Checkpoint {
+		public final int turn;
+		public final long stateHash;
+		private final byte[] snapshot;
+		
+		private Checkpoint(int turn, long stateHash, byte[] snapshot) {
+			this.turn = turn;
+			this.stateHash = stateHash;
+			this.snapshot = snapshot;
+		}
+		
+		public DeterministicRunner.Snapshot snapshot() throws IOException {
+			try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(snapshot))) {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream(snapshot.length * 3);
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = in.read(buffer)) != -1) {
+					bytes.write(buffer, 0, read);
+				}
+				return DeterministicRunner.Snapshot.fromBytes(bytes.toByteArray());
+			}
+		}
+	}
+}
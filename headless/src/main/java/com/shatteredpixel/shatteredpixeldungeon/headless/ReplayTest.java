@@ -0,0 +1,148 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Test #6: Verify binary replays round-trip, seek and verify.
+ * 
+ * Records a run with ReplayWriter, reads it back, seeks a second runner
+ * to a turn between checkpoints and checks its hash against the original
+ * run, then re-simulates every segment with ReplayVerifier. Also reads the
+ * replay back without its end record, as if the recording had been cut short.
+ */
+public class ReplayTest {
+	
+	private static final HeadlessAction[] ACTIONS = {
+		HeadlessAction.MOVE_E, HeadlessAction.MOVE_S, HeadlessAction.PICKUP,
+		HeadlessAction.MOVE_W, HeadlessAction.MOVE_N, HeadlessAction.WAIT
+	};
+	
+	public static void main(String[] args) {
+		boolean passed = TestRunner.runWithTimeout("Replay Test", 60, () -> {
+			try {
+				runTest(60, 20, 45);
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		
+		System.exit(passed ? 0 : 1);
+	}
+	
+	private static void runTest(int numTurns, int interval, int seekTurn) throws Exception {
+		RunConfig config = new RunConfig(12345L, HeroClass.WARRIOR);
+		
+		HeadlessApplicationConfiguration appConfig = new HeadlessApplicationConfiguration();
+		appConfig.updatesPerSecond = 0;
+		SPDHeadlessApp app = new SPDHeadlessApp(config.seed, config.heroClass);
+		new HeadlessApplication(app, appConfig);
+		
+		DeterministicRunner runner = null;
+		for (int i = 0; i < 100 && runner == null; i++) {
+			Thread.sleep(50);
+			runner = app.getRunner();
+		}
+		if (runner == null) {
+			throw new RuntimeException("Runner is null!");
+		}
+		
+		// Record the run, remembering the hash after each turn
+		long[] hashes = new long[numTurns + 1];
+		hashes[0] = runner.stateHash();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ReplayWriter writer = new ReplayWriter(bytes, config, interval)) {
+			writer.begin(runner);
+			for (int i = 0; i < numTurns; i++) {
+				HeadlessAction action = ACTIONS[(i * 5) % ACTIONS.length];
+				DeterministicRunner.StepResult result = runner.step(action);
+				writer.logTurn(action, runner, result);
+				hashes[i + 1] = result.stateHash;
+			}
+		}
+		System.out.println("✓ Recorded " + numTurns + " turns in " + bytes.size() + " bytes");
+		
+		ReplayReader reader = ReplayReader.read(new ByteArrayInputStream(bytes.toByteArray()));
+		if (reader.turns() != numTurns || reader.finalHash() != hashes[numTurns] || reader.truncated()) {
+			throw new RuntimeException("Replay did not round-trip");
+		}
+		int expectedCheckpoints = numTurns / interval + 1;
+		if (reader.checkpoints().size() != expectedCheckpoints) {
+			throw new RuntimeException("Expected " + expectedCheckpoints + " checkpoints, found " + reader.checkpoints().size());
+		}
+		System.out.println("✓ Read back " + reader.turns() + " turns and " + reader.checkpoints().size() + " checkpoints");
+		
+		// Cut off the end record: tag, turn count and final hash
+		ByteArrayOutputStream turnCount = new ByteArrayOutputStream();
+		ReplayWriter.writeVarInt(new DataOutputStream(turnCount), numTurns);
+		byte[] cut = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1 - turnCount.size() - 8);
+		ReplayReader truncated = ReplayReader.read(new ByteArrayInputStream(cut));
+		if (!truncated.truncated() || truncated.turns() != numTurns || truncated.checkpoints().size() != expectedCheckpoints) {
+			throw new RuntimeException("Truncated replay was not read up to its last record");
+		}
+		
+		// Cut into the last checkpoint as well, as if the process died while writing it
+		truncated = ReplayReader.read(new ByteArrayInputStream(Arrays.copyOf(cut, cut.length - 100)));
+		if (!truncated.truncated() || truncated.turns() != numTurns || truncated.checkpoints().size() != expectedCheckpoints - 1) {
+			throw new RuntimeException("Truncated replay kept part of a record");
+		}
+		System.out.println("✓ Read back a replay missing its end record as truncated");
+		
+		// The build version follows the magic number and format version, change it to another build's
+		byte[] otherBuild = bytes.toByteArray();
+		otherBuild[5] ^= 1;
+		try {
+			ReplayReader.read(new ByteArrayInputStream(otherBuild));
+			throw new RuntimeException("Replay from another build was accepted");
+		} catch (IOException e) {
+			// expected
+		}
+		System.out.println("✓ Replay from another build rejected");
+		
+		// Seek in a separate runner, which starts from a different game
+		DeterministicRunner other = new DeterministicRunner(new RunConfig(999L, HeroClass.MAGE));
+		other.startNewGame();
+		long seekHash = reader.seek(other, seekTurn);
+		if (seekHash != hashes[seekTurn] || other.stateHash() != hashes[seekTurn]) {
+			throw new RuntimeException(String.format("Seek to turn %d gave hash %016x, expected %016x",
+				seekTurn, seekHash, hashes[seekTurn]));
+		}
+		System.out.println("✓ Seek to turn " + seekTurn + " matches the original run");
+		
+		int failed = ReplayVerifier.verifySegments(reader, 0, reader.checkpoints().size(), System.out);
+		if (failed != 0) {
+			throw new RuntimeException(failed + " segment(s) failed verification");
+		}
+		
+		System.out.println();
+		System.out.println("✓ Replays record, seek and verify correctly");
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.headless;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Verifies a binary replay by re-simulating it.
+ * 
+ * The replay is split into segments at its checkpoints. Each segment is
+ * restored from the checkpoint that starts it, its actions are replayed, and
+ * the resulting state hash is compared with the next checkpoint (or the final
+ * hash). The first segment is replayed from a fresh game instead, which also
+ * checks that this build starts the run identically. A truncated replay has no
+ * final hash, so the turns after its last checkpoint are not verified.
+ * 
+ * Segments are independent, so they are spread over worker processes, one per
+ * core by default. Only one game can be live in a process, so separate
+ * processes are what allow the segments to run in parallel.
+ * 
+ * Usage: ReplayVerifier replay-file [workers]
+ */
+public final class ReplayVerifier {
+	
+	private static final String WORKER = "--worker";
+	private static final String RESULT = "SEGMENT ";
+	
+	public static void main(String[] args) {
+		int exitCode;
+		try {
+			if (args.length == 4 && WORKER.equals(args[0])) {
+				exitCode = runWorker(new File(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+			} else if (args.length == 1 || args.length == 2) {
+				int workers = args.length == 2 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+				exitCode = verify(new File(args[0]), workers) ? 0 : 1;
+			} else {
+				System.err.println("Usage: ReplayVerifier replay-file [workers]");
+				exitCode = 2;
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+			exitCode = 2;
+		}
+		System.exit(exitCode);
+	}
+	
+	/**
+	 * Verifies every segment of a replay file, using up to the given number of worker processes.
+	 * 
+	 * @return true if every segment reproduced its recorded hash
+	 */
+	public static boolean verify(File file, int workers) throws IOException, InterruptedException {
+		// Booted before reading, so the replay's build can be checked against this one
+		SPDHeadlessApp.start(0L, HeroClass.WARRIOR);
+		ReplayReader reader = read(file);
+		int segments = reader.checkpoints().size();
+		if (reader.truncated()) {
+			segments--;
+			System.out.printf("Replay is truncated, verifying up to its last checkpoint at turn %d%n", reader.checkpoints().get(segments).turn);
+		}
+		workers = Math.max(1, Math.min(workers, segments));
+		System.out.printf("Verifying %d turns in %d segments with %d worker(s)%n", reader.turns(), segments, workers);
+		
+		if (workers == 1) {
+			return verifySegments(reader, 0, segments, System.out) == 0;
+		}
+		
+		List<String> results = new ArrayList<>();		
+		int perWorker = (segments + workers - 1) / workers;
+		List<Process> processes = new ArrayList<>();
+		List<Thread> readers = new ArrayList<>();
+		for (int first = 0; first < segments; first += perWorker) {
+			int last = Math.min(segments, first + perWorker);
+			ProcessBuilder builder = new ProcessBuilder(
+				new File(System.getProperty("java.home"), "bin/java").getPath(),
+				"-cp", System.getProperty("java.class.path"),
+				ReplayVerifier.class.getName(),
+				WORKER, file.getPath(), String.valueOf(first), String.valueOf(last));
+			builder.redirectErrorStream(true);
+			Process process = builder.start();
+			processes.add(process);
+			
+			// Workers also print the game's own logging, only their results are kept
+			Thread thread = new Thread(() -> collectResults(process.getInputStream(), results));
+			thread.start();
+			readers.add(thread);
+		}
+		
+		for (Process process : processes) {
+			process.waitFor();
+		}
+		for (Thread thread : readers) {
+			thread.join();
+		}
+		
+		results.sort(Comparator.comparingInt(ReplayVerifier::segmentOf));
+		int failed = 0;
+		for (String result : results) {
+			System.out.println(result);
+			if (!result.endsWith(" OK")) {
+				failed++;
+			}
+		}
+		// A worker that crashed reports nothing for its segments
+		failed += segments - results.size();
+		
+		System.out.printf("%d of %d segments verified%n", segments - failed, segments);
+		return failed == 0;
+	}
+	
+	/**
+	 * Re-simulates segments [first, last) of a replay and prints one result line for each.
+	 * The game must already be booted in this process.
+	 * 
+	 * @return The number of segments that did not reproduce their recorded hash
+	 */
+	public static int verifySegments(ReplayReader reader, int first, int last, PrintStream out) throws IOException {
+		List<ReplayReader.Checkpoint> checkpoints = reader.checkpoints();
+		
+		DeterministicRunner runner = new DeterministicRunner(reader.config);
+		// Only the hash at the end of each segment is compared
+		runner.setHashSteps(false);
+		runner.startNewGame();
+		
+		int failed = 0;
+		for (int i = first; i < last; i++) {
+			ReplayReader.Checkpoint start = checkpoints.get(i);
+			int end = i + 1 < checkpoints.size() ? checkpoints.get(i + 1).turn : reader.turns();
+			long expected = i + 1 < checkpoints.size() ? checkpoints.get(i + 1).stateHash : reader.finalHash();
+			
+			String error = null;
+			if (i == 0 && start.turn == 0) {
+				// The runner still holds the fresh game
+				if (runner.stateHash() != start.stateHash) {
+					error = String.format("new game hash %016x, expected %016x", runner.stateHash(), start.stateHash);
+				}
+			} else {
+				runner.restore(start.snapshot());
+			}
+			
+			if (error == null) {
+				for (int t = start.turn; t < end; t++) {
+					runner.step(reader.action(t));
+				}
+				long actual = runner.stateHash();
+				if (actual != expected) {
+					error = String.format("hash %016x at turn %d, expected %016x", actual, end, expected);
+				}
+			}
+			
+			if (error == null) {
+				out.println(RESULT + i + " turns " + start.turn + "-" + end + " OK");
+			} else {
+				out.println(RESULT + i + " turns " + start.turn + "-" + end + " FAILED: " + error);
+				failed++;
+			}
+		}
+		return failed;
+	}
+	
+	private static int runWorker(File file, int first, int last) throws IOException {
+		SPDHeadlessApp.start(0L, HeroClass.WARRIOR);
+		ReplayReader reader = read(file);
+		return verifySegments(reader, first, last, System.out) == 0 ? 0 : 1;
+	}
+	
+	private static ReplayReader read(File file) throws IOException {
+		try (InputStream in = new FileInputStream(file)) {
+			return ReplayReader.read(in);
+		}
+	}
+	
+	private static int segmentOf(String result) {
+		int start = RESULT.length();
+		return Integer.parseInt(result.substring(start, result.indexOf(' ', start)));
+	}
+	
+	private static void collectResults(InputStream stream, List<String> results) {
+		try (BufferedReader in = new BufferedReader(new InputStreamReader(stream))) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (line.startsWith(RESULT)) {
+					synchronized (results) {
+						results.add(line);
+					}
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.headless;
+
+import com.watabou.noosa.Game;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Streams a run to a compact binary replay.
+ * 
+ * Format (DataOutput byte order, varints are unsigned LEB128):
+ * <pre>
+ * header      int MAGIC, varint VERSION, varint build version code,
+ *             long seed, UTF hero class, varint challenges,
+ *             float mobsToChampion, varint checkpoint interval
+ * records     varint action ordinal, one per turn
+ *             or CHECKPOINT, varint turn, long state hash,
+ *                varint length, deflated DeterministicRunner.Snapshot.toBytes()
+ * end         END, varint turns, long final state hash
+ * </pre>
+ * A checkpoint is written when logging starts and then every interval turns,
+ * so a reader can seek to any turn by restoring the checkpoint before it and
+ * replaying at most interval - 1 actions. Nothing is buffered beyond the stream.
+ * 
+ * A replay whose writer was never closed (e.g. the process died) has no end and
+ * is read back as truncated. The stream is flushed after every checkpoint, so
+ * at most the turns since the last one are lost.
+ */
+public final class ReplayWriter implements Closeable {
+	
+	public static final int MAGIC = 0x53504452; // "SPDR"
+	public static final int VERSION = 2;
+	
+	// Record tags, above any action ordinal
+	static final int CHECKPOINT = 0x7F;
+	static final int END = 0x7E;
+	
+	private final DataOutputStream out;
+	private final int interval;
+	private int turns = 0;
+	private long lastHash;
+	
+	/**
+	 * Writes the header of a replay for the given run.
+	 * 
+	 * @param checkpointInterval Turns between embedded snapshots
+	 */
+	public ReplayWriter(OutputStream out, RunConfig config, int checkpointInterval) throws IOException {
+		if (checkpointInterval <= 0) {
+			throw new IllegalArgumentException("Checkpoint interval must be positive");
+		}
+		this.out = new DataOutputStream(new BufferedOutputStream(out));
+		this.interval = checkpointInterval;
+		
+		this.out.writeInt(MAGIC);
+		writeVarInt(this.out, VERSION);
+		writeVarInt(this.out, Game.versionCode);
+		this.out.writeLong(config.seed);
+		this.out.writeUTF(config.heroClass.name());
+		writeVarInt(this.out, config.challenges);
+		this.out.writeFloat(config.mobsToChampion);
+		writeVarInt(this.out, interval);
+	}
+	
+	/**
+	 * Writes the first checkpoint. Call once, before the first logged turn.
+	 */
+	public void begin(DeterministicRunner runner) throws IOException {
+		lastHash = runner.stateHash();
+		writeCheckpoint(runner, lastHash);
+	}
+	
+	/**
+	 * Logs a turn that was just taken by runner.step(action).
+	 */
+	public void logTurn(HeadlessAction action, DeterministicRunner runner, DeterministicRunner.StepResult result) throws IOException {
+		writeVarInt(out, action.ordinal());
+		turns++;
+		lastHash = result.stateHash;
+		
+		if (turns % interval == 0 && !result.done) {
+			writeCheckpoint(runner, lastHash);
+		}
+	}
+	
+	/**
+	 * Writes the end record and closes the underlying stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		writeVarInt(out, END);
+		writeVarInt(out, turns);
+		out.writeLong(lastHash);
+		out.close();
+	}
+	
+	private void writeCheckpoint(DeterministicRunner runner, long stateHash) throws IOException {
+		byte[] snapshot = deflate(runner.snapshot().toBytes());
+		writeVarInt(out, CHECKPOINT);
+		writeVarInt(out, turns);
+		out.writeLong(stateHash);
+		writeVarInt(out, snapshot.length);
+		out.write(snapshot);
+		out.flush();
+	}
+	
+	private static byte[] deflate(byte[] bytes) throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2);
+		try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed)) {
+			deflater.write(bytes);
+		}
+		return compressed.toByteArray();
+	}
+	
+	static void writeVarInt(DataOutput out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+	
+	static int readVarInt(DataInput in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint");
+	}
+}
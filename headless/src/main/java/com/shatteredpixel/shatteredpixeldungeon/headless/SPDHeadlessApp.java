@@ -22,6 +22,8 @@
 package com.shatteredpixel.shatteredpixeldungeon.headless;
 
 import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
 import com.shatteredpixel.shatteredpixeldungeon.ShatteredPixelDungeon;
 import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
 import com.shatteredpixel.shatteredpixeldungeon.headless.platform.HeadlessPlatformSupport;
@@ -30,7 +32,8 @@ import com.watabou.noosa.Game;
 public final class SPDHeadlessApp extends ApplicationAdapter {
 	private final long seed;
 	private final HeroClass heroClass;
-	private DeterministicRunner runner;
+	// Set on the application's thread once its game has started, and read from the caller's
+	private volatile DeterministicRunner runner;
 	
 	public SPDHeadlessApp(long seed, HeroClass heroClass) {
 		this.seed = seed;
@@ -62,8 +65,9 @@ public final class SPDHeadlessApp extends ApplicationAdapter {
 			
 			// Create and initialize the deterministic runner
 			RunConfig config = new RunConfig(seed, heroClass);
-			runner = new DeterministicRunner(config);
-			runner.startNewGame();
+			DeterministicRunner started = new DeterministicRunner(config);
+			started.startNewGame();
+			runner = started;
 		} catch (Exception e) {
 			System.err.println("Error initializing headless game: " + e.getMessage());
 			e.printStackTrace();
@@ -80,4 +84,29 @@ public final class SPDHeadlessApp extends ApplicationAdapter {
 	public DeterministicRunner getRunner() {
 		return runner;
 	}
+	
+	/**
+	 * Starts a headless application and waits for its first game to be ready.
+	 * This sets up the platform, files and settings that any further runners need.
+	 */
+	public static SPDHeadlessApp start(long seed, HeroClass heroClass) {
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.updatesPerSecond = 0;
+		
+		SPDHeadlessApp app = new SPDHeadlessApp(seed, heroClass);
+		new HeadlessApplication(app, config);
+		
+		for (int i = 0; i < 200 && app.getRunner() == null; i++) {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+		}
+		if (app.getRunner() == null) {
+			throw new RuntimeException("Headless game failed to start");
+		}
+		return app;
+	}
 }
@@ -0,0 +1,296 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+
+package com.shatteredpixel.shatteredpixeldungeon.headless;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mimic;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Statue;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.npcs.Blacksmith;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.npcs.Ghost;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.npcs.Imp;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.npcs.Wandmaker;
+import com.shatteredpixel.shatteredpixeldungeon.items.Heap;
+import com.shatteredpixel.shatteredpixeldungeon.items.Item;
+import com.shatteredpixel.shatteredpixeldungeon.items.armor.Armor;
+import com.shatteredpixel.shatteredpixeldungeon.items.weapon.Weapon;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.levels.RegularLevel;
+import com.shatteredpixel.shatteredpixeldungeon.levels.rooms.Room;
+import com.shatteredpixel.shatteredpixeldungeon.levels.rooms.secret.SecretRoom;
+import com.shatteredpixel.shatteredpixeldungeon.levels.rooms.special.SpecialRoom;
+import com.shatteredpixel.shatteredpixeldungeon.utils.DungeonSeed;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scans a range of seeds for their level contents, without playing them.
+ * 
+ * Each seed's levels are generated in order from depth 1, as descending would,
+ * and summarized in one line per level:
+ * <pre>
+ * code seed depth rooms=N special=Room,... secret=Room,... quest=Npc:type:rewards,... items=Item,...
+ * </pre>
+ * Items are listed by class, with their quantity, upgrade level, enchantment or
+ * glyph and curse, and prefixed by the heap type when they aren't simply lying
+ * on the floor. Statues and mimics list the items they carry. For example, to
+ * find seeds with a Chalice of Blood on depth 3:
+ * <pre>
+ * SeedScanner 0 100000 3 | grep " 3 rooms=.*ChaliceOfBlood"
+ * </pre>
+ * 
+ * One boot serves every seed of a worker. Workers are separate processes, one per
+ * core by default, each scanning a contiguous part of the range; their lines are
+ * streamed as they are produced, so lines of different workers interleave.
+ * 
+ * Usage: SeedScanner first-seed count [maxDepth] [workers]
+ * The first seed can be a number or a seed code such as ABC-DEF-GHI.
+ */
+public final class SeedScanner {
+	
+	private static final String WORKER = "--worker";
+	private static final String RESULT = "LEVEL ";
+	
+	private static final int DEFAULT_DEPTH = 26;
+	
+	public static void main(String[] args) {
+		int exitCode;
+		try {
+			if (args.length == 4 && WORKER.equals(args[0])) {
+				SPDHeadlessApp.start(Long.parseLong(args[1]), HeroClass.WARRIOR);
+				scan(Long.parseLong(args[1]), Long.parseLong(args[2]), Integer.parseInt(args[3]), System.out, RESULT);
+				exitCode = 0;
+			} else if (args.length >= 2 && args.length <= 4) {
+				long first = parseSeed(args[0]);
+				long count = Long.parseLong(args[1]);
+				int maxDepth = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DEPTH;
+				int workers = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+				exitCode = scan(first, count, maxDepth, workers) ? 0 : 1;
+			} else {
+				System.err.println("Usage: SeedScanner first-seed count [maxDepth] [workers]");
+				exitCode = 2;
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+			exitCode = 2;
+		}
+		System.exit(exitCode);
+	}
+	
+	/**
+	 * Scans seeds [first, first + count) with up to the given number of worker processes,
+	 * printing each level's summary to stdout.
+	 * 
+	 * @return true if every worker finished its seeds
+	 */
+	public static boolean scan(long first, long count, int maxDepth, int workers) throws IOException, InterruptedException {
+		if (first < 0 || count < 0 || first + count > DungeonSeed.TOTAL_SEEDS) {
+			throw new IllegalArgumentException("Seeds must be in [0, " + DungeonSeed.TOTAL_SEEDS + ")");
+		}
+		workers = (int)Math.max(1, Math.min(workers, count));
+		
+		if (workers == 1) {
+			// The game's own logging is sent to stderr, so stdout only holds summaries
+			PrintStream out = System.out;
+			System.setOut(System.err);
+			try {
+				SPDHeadlessApp.start(first, HeroClass.WARRIOR);
+				scan(first, count, maxDepth, out, "");
+			} finally {
+				System.setOut(out);
+			}
+			return true;
+		}
+		
+		long perWorker = (count + workers - 1) / workers;
+		List<Process> processes = new ArrayList<>();
+		List<Thread> readers = new ArrayList<>();
+		for (long start = first; start < first + count; start += perWorker) {
+			long seeds = Math.min(perWorker, first + count - start);
+			ProcessBuilder builder = new ProcessBuilder(
+				new File(System.getProperty("java.home"), "bin/java").getPath(),
+				"-cp", System.getProperty("java.class.path"),
+				SeedScanner.class.getName(),
+				WORKER, String.valueOf(start), String.valueOf(seeds), String.valueOf(maxDepth));
+			builder.redirectErrorStream(true);
+			Process process = builder.start();
+			processes.add(process);
+			
+			// Workers also print the game's own logging, only their summaries are passed on
+			Thread thread = new Thread(() -> relayResults(process.getInputStream()));
+			thread.start();
+			readers.add(thread);
+		}
+		
+		boolean finished = true;
+		for (Process process : processes) {
+			finished &= process.waitFor() == 0;
+		}
+		for (Thread thread : readers) {
+			thread.join();
+		}
+		return finished;
+	}
+	
+	/**
+	 * Scans seeds [first, first + count) in this process, printing each level's summary.
+	 * The game must already be booted in this process.
+	 * 
+	 * @param prefix Written before each summary
+	 */
+	public static void scan(long first, long count, int maxDepth, PrintStream out, String prefix) {
+		for (long seed = first; seed < first + count; seed++) {
+			String code = DungeonSeed.convertToCode(seed);
+			long current = seed;
+			DeterministicRunner runner = new DeterministicRunner(new RunConfig(seed, HeroClass.WARRIOR));
+			runner.generateLevels(maxDepth, level -> out.println(prefix + code + " " + current + " " + describe(level)));
+		}
+		out.flush();
+	}
+	
+	/**
+	 * Summarizes a freshly generated level, starting with its depth.
+	 */
+	public static String describe(Level level) {
+		StringBuilder summary = new StringBuilder();
+		summary.append(Dungeon.depth);
+		
+		List<String> special = new ArrayList<>();
+		List<String> secret = new ArrayList<>();
+		int rooms = 0;
+		if (level instanceof RegularLevel) {
+			for (Room room : ((RegularLevel) level).rooms()) {
+				rooms++;
+				if (room instanceof SecretRoom) {
+					secret.add(room.getClass().getSimpleName());
+				} else if (room instanceof SpecialRoom) {
+					special.add(room.getClass().getSimpleName());
+				}
+			}
+		}
+		summary.append(" rooms=").append(rooms);
+		append(summary, "special", special);
+		append(summary, "secret", secret);
+		
+		List<String> quests = new ArrayList<>();
+		List<String> items = new ArrayList<>();
+		for (Mob mob : level.mobs) {
+			if (mob instanceof Ghost) {
+				quests.add("Ghost:" + Ghost.Quest.Type() + ":" + item(Ghost.Quest.weapon) + "/" + item(Ghost.Quest.armor));
+			} else if (mob instanceof Wandmaker) {
+				quests.add("Wandmaker:" + Wandmaker.Quest.Type() + ":" + item(Wandmaker.Quest.wand1) + "/" + item(Wandmaker.Quest.wand2));
+			} else if (mob instanceof Blacksmith) {
+				StringBuilder rewards = new StringBuilder();
+				if (Blacksmith.Quest.smithRewards != null) {
+					for (Item reward : Blacksmith.Quest.smithRewards) {
+						rewards.append(rewards.length() > 0 ? "/" : "").append(item(reward));
+					}
+				}
+				quests.add("Blacksmith:" + Blacksmith.Quest.Type() + ":" + rewards);
+			} else if (mob instanceof Imp) {
+				quests.add("Imp:" + (Imp.Quest.alternative() ? 2 : 1) + ":" + item(Imp.Quest.reward));
+			} else if (mob instanceof Statue && ((Statue) mob).weapon() != null) {
+				items.add("STATUE:" + item(((Statue) mob).weapon()));
+			} else if (mob instanceof Mimic && ((Mimic) mob).items != null) {
+				for (Item item : ((Mimic) mob).items) {
+					items.add("MIMIC:" + item(item));
+				}
+			}
+		}
+		append(summary, "quest", quests);
+		
+		for (Heap heap : level.heaps.valueList()) {
+			String type = heap.type == Heap.Type.HEAP ? "" : heap.type.name() + ":";
+			for (Item item : heap.items) {
+				items.add(type + item(item));
+			}
+		}
+		append(summary, "items", items);
+		
+		return summary.toString();
+	}
+	
+	private static void append(StringBuilder summary, String name, List<String> values) {
+		summary.append(' ').append(name).append('=');
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) {
+				summary.append(',');
+			}
+			summary.append(values.get(i));
+		}
+	}
+	
+	private static String item(Item item) {
+		if (item == null) {
+			return "none";
+		}
+		StringBuilder name = new StringBuilder(item.getClass().getSimpleName());
+		if (item.quantity() > 1) {
+			name.append('x').append(item.quantity());
+		}
+		if (item.level() != 0) {
+			name.append(item.level() > 0 ? "+" : "").append(item.level());
+		}
+		if (item instanceof Weapon && ((Weapon) item).enchantment != null) {
+			name.append(':').append(((Weapon) item).enchantment.getClass().getSimpleName());
+		}
+		if (item instanceof Armor && ((Armor) item).glyph != null) {
+			name.append(':').append(((Armor) item).glyph.getClass().getSimpleName());
+		}
+		if (item.cursed) {
+			name.append(":cursed");
+		}
+		return name.toString();
+	}
+	
+	private static long parseSeed(String text) {
+		try {
+			return Long.parseLong(text);
+		} catch (NumberFormatException e) {
+			return DungeonSeed.convertFromCode(text);
+		}
+	}
+	
+	private static void relayResults(InputStream stream) {
+		try (BufferedReader in = new BufferedReader(new InputStreamReader(stream))) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (line.startsWith(RESULT)) {
+					synchronized (System.out) {
+						System.out.println(line.substring(RESULT.length()));
+					}
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+}
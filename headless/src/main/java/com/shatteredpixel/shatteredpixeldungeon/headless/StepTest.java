@@ -56,14 +56,16 @@ public class StepTest {
 		SPDHeadlessApp app = new SPDHeadlessApp(seed, heroClass);
 		HeadlessApplication headlessApp = new HeadlessApplication(app, config);
 		
-		try {
-			Thread.sleep(200);
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
-			throw new RuntimeException(e);
+		DeterministicRunner runner = null;
+		for (int i = 0; i < 100 && runner == null; i++) {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+			runner = app.getRunner();
 		}
-		
-		DeterministicRunner runner = app.getRunner();
 		if (runner == null) {
 			throw new RuntimeException("Runner is null!");
 		}
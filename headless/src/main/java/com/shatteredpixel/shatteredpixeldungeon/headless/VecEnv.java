@@ -0,0 +1,358 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.headless;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A batch of environments stepped together, with automatic reset.
+ * 
+ * Each tick takes one action per environment and returns every result in a
+ * single packed little-endian buffer, which is reused between ticks:
+ * <pre>
+ * int32 numEnvs
+ * then for each environment:
+ *   float32 reward
+ *   int32   done      1 if the episode ended this tick
+ *   int32   episode   episodes started by this environment so far, counting from 0
+ *   int32   obsBytes
+ *   obsBytes bytes    the environment's Observation, see that class for the layout
+ * </pre>
+ * When an episode ends the environment is reset straight away: done is 1,
+ * the reward is the final step's, and the observation is the first one of
+ * the new episode.
+ * 
+ * Environment i plays seed baseSeed + i in its first episode, and moves on by
+ * numEnvs seeds with each reset, so no two episodes in a batch share a seed.
+ * With a seed pool the seeds wrap around after seedPool of them, and a GameCache
+ * then lets repeated seeds restore their start instead of generating it again.
+ * 
+ * Only one game can be live in a process, so each environment is played by its
+ * own worker process. A tick sends every worker its action before reading any
+ * result, so the environments step in parallel, and each worker's result is
+ * read straight into its place in the packed buffer. Workers exit once the
+ * VecEnv is closed, or when this process exits.
+ */
+public final class VecEnv implements Closeable {
+	
+	/** Action code that resets an environment instead of stepping it. */
+	public static final int RESET = 0xFF;
+	
+	// Sent to workers only, starts their environment over from its first episode
+	private static final int START = 0xFE;
+	
+	private static final String WORKER = "--worker";
+	
+	private static final int ENV_HEADER_BYTES = 16;
+	
+	private final Process[] workers;
+	private final OutputStream[] commands;
+	private final ReadableByteChannel[] results;
+	private final int numActions = HeadlessAction.values().length;
+	
+	private final ByteBuffer header = ByteBuffer.allocateDirect(ENV_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+	// Starts with room for the environment count only, and grows to hold the largest results
+	private ByteBuffer packed = ByteBuffer.allocateDirect(4).order(ByteOrder.LITTLE_ENDIAN);
+	
+	/**
+	 * Starts a worker process for each environment.
+	 */
+	public VecEnv(int numEnvs, long baseSeed, HeroClass heroClass) throws IOException {
+		this(numEnvs, baseSeed, heroClass, 0, 0);
+	}
+	
+	/**
+	 * Starts a worker process for each environment, playing a fixed pool of seeds.
+	 * 
+	 * @param seedPool Number of seeds to cycle through, or 0 to never repeat a seed
+	 * @param cacheBytes Size of the GameCache for the start of each episode, shared out
+	 *                   between the workers, or 0 to always generate it
+	 */
+	public VecEnv(int numEnvs, long baseSeed, HeroClass heroClass, int seedPool, long cacheBytes) throws IOException {
+		if (numEnvs <= 0) {
+			throw new IllegalArgumentException("Need at least one environment");
+		}
+		if (seedPool < 0) {
+			throw new IllegalArgumentException("Seed pool can't be negative");
+		}
+		this.workers = new Process[numEnvs];
+		this.commands = new OutputStream[numEnvs];
+		this.results = new ReadableByteChannel[numEnvs];
+		
+		try {
+			for (int i = 0; i < numEnvs; i++) {
+				ProcessBuilder builder = new ProcessBuilder(
+					new File(System.getProperty("java.home"), "bin/java").getPath(),
+					"-cp", System.getProperty("java.class.path"),
+					VecEnv.class.getName(),
+					WORKER, String.valueOf(i), String.valueOf(numEnvs), String.valueOf(baseSeed),
+					heroClass.name(), String.valueOf(seedPool), String.valueOf(cacheBytes / numEnvs));
+				// Workers print the game's own logging to stderr, stdout only carries their results
+				builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+				workers[i] = builder.start();
+				commands[i] = workers[i].getOutputStream();
+				results[i] = Channels.newChannel(workers[i].getInputStream());
+			}
+		} catch (IOException e) {
+			for (Process worker : workers) {
+				if (worker != null) {
+					worker.destroy();
+				}
+			}
+			throw e;
+		}
+	}
+	
+	public int numEnvs() {
+		return workers.length;
+	}
+	
+	/**
+	 * Starts a new episode in every environment.
+	 * 
+	 * @return The packed results, with zero rewards and no episodes done
+	 */
+	public ByteBuffer reset() throws IOException {
+		for (int i = 0; i < workers.length; i++) {
+			send(i, START);
+		}
+		return gather();
+	}
+	
+	/**
+	 * Steps every environment with its action, resetting those whose episode ends.
+	 * 
+	 * @param actionCodes One HeadlessAction ordinal per environment, or RESET
+	 * @return The packed results, valid until the next call
+	 */
+	public ByteBuffer step(byte[] actionCodes) throws IOException {
+		if (actionCodes.length != workers.length) {
+			throw new IllegalArgumentException("Expected " + workers.length + " actions, got " + actionCodes.length);
+		}
+		
+		// Check every code first, so a bad one leaves all environments as they were
+		for (int i = 0; i < workers.length; i++) {
+			int code = actionCodes[i] & 0xFF;
+			if (code != RESET && code >= numActions) {
+				throw new IllegalArgumentException("Unknown action " + code + " for environment " + i);
+			}
+		}
+		
+		for (int i = 0; i < workers.length; i++) {
+			send(i, actionCodes[i] & 0xFF);
+		}
+		return gather();
+	}
+	
+	/**
+	 * Stops the workers, waiting for them to exit.
+	 */
+	@Override
+	public void close() throws IOException {
+		for (OutputStream command : commands) {
+			command.close();
+		}
+		try {
+			for (Process worker : workers) {
+				worker.waitFor();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private void send(int env, int code) throws IOException {
+		commands[env].write(code);
+		commands[env].flush();
+	}
+	
+	private ByteBuffer gather() throws IOException {
+		int position = 4;
+		for (int i = 0; i < workers.length; i++) {
+			header.clear();
+			readFully(results[i], header);
+			int end = position + ENV_HEADER_BYTES + header.getInt(12);
+			if (packed.capacity() < end) {
+				// Keeps the results gathered so far
+				ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(end, packed.capacity() * 2)).order(ByteOrder.LITTLE_ENDIAN);
+				packed.position(0).limit(position);
+				larger.put(packed);
+				packed = larger;
+			}
+			
+			header.flip();
+			packed.limit(end).position(position);
+			packed.put(header);
+			readFully(results[i], packed);
+			position = end;
+		}
+		packed.putInt(0, workers.length);
+		packed.position(0).limit(position);
+		return packed;
+	}
+	
+	private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				throw new EOFException("An environment's worker exited");
+			}
+		}
+	}
+	
+	public static void main(String[] args) {
+		if (args.length != 7 || !WORKER.equals(args[0])) {
+			System.err.println("VecEnv only runs as a worker of another VecEnv");
+			System.exit(2);
+		}
+		int exitCode;
+		try {
+			runWorker(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Long.parseLong(args[3]),
+					HeroClass.valueOf(args[4]), Integer.parseInt(args[5]), Long.parseLong(args[6]));
+			exitCode = 0;
+		} catch (Exception e) {
+			e.printStackTrace();
+			exitCode = 2;
+		}
+		System.exit(exitCode);
+	}
+	
+	/**
+	 * Plays environment env of numEnvs, taking one code per tick from stdin and
+	 * writing its part of the packed results to stdout, until stdin is closed.
+	 */
+	private static void runWorker(int env, int numEnvs, long baseSeed, HeroClass heroClass, int seedPool, long cacheBytes) throws IOException {
+		// Keep stdout for the results only
+		FileChannel out = new FileOutputStream(FileDescriptor.out).getChannel();
+		System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true));
+		
+		SPDHeadlessApp.start(baseSeed, heroClass);
+		Environment environment = new Environment(env, numEnvs, baseSeed, heroClass, seedPool,
+				cacheBytes > 0 ? new GameCache(cacheBytes) : null);
+		InputStream in = System.in;
+		ByteBuffer header = ByteBuffer.allocateDirect(ENV_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		
+		int code;
+		while ((code = in.read()) >= 0) {
+			environment.tick(code);
+			
+			Observation observation = environment.runner.observation();
+			int obsBytes = observation.size();
+			header.clear();
+			header.putFloat(0, environment.reward);
+			header.putInt(4, environment.done ? 1 : 0);
+			header.putInt(8, environment.episode);
+			header.putInt(12, obsBytes);
+			writeFully(out, header);
+			
+			ByteBuffer source = observation.buffer().duplicate();
+			source.clear().limit(obsBytes);
+			writeFully(out, source);
+		}
+	}
+	
+	private static void writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+	}
+	
+	/**
+	 * The one environment a worker plays.
+	 */
+	private static final class Environment {
+		
+		private final int env;
+		private final int numEnvs;
+		private final long baseSeed;
+		private final HeroClass heroClass;
+		private final int seedPool;
+		private final GameCache cache;
+		private final HeadlessAction[] actions = HeadlessAction.values();
+		
+		private DeterministicRunner runner;
+		private int episode;
+		private float reward;
+		private boolean done;
+		
+		Environment(int env, int numEnvs, long baseSeed, HeroClass heroClass, int seedPool, GameCache cache) {
+			this.env = env;
+			this.numEnvs = numEnvs;
+			this.baseSeed = baseSeed;
+			this.heroClass = heroClass;
+			this.seedPool = seedPool;
+			this.cache = cache;
+		}
+		
+		void tick(int code) {
+			reward = 0;
+			done = false;
+			if (code == START) {
+				episode = 0;
+				startEpisode();
+			} else if (code == RESET) {
+				episode++;
+				startEpisode();
+			} else {
+				DeterministicRunner.StepResult result = runner.step(actions[code]);
+				reward = result.reward;
+				if (result.done) {
+					done = true;
+					episode++;
+					startEpisode();
+				}
+			}
+		}
+		
+		private void startEpisode() {
+			long index = env + (long)episode * numEnvs;
+			if (seedPool > 0) {
+				index %= seedPool;
+			}
+			RunConfig config = new RunConfig(baseSeed + index, heroClass);
+			// The finished episode's runner hands over its buffers rather than leaving its game state behind
+			runner = runner == null ? new DeterministicRunner(config) : new DeterministicRunner(config, runner);
+			// Nothing here reads the per-step hash
+			runner.setHashSteps(false);
+			if (cache != null) {
+				runner.startNewGame(cache);
+			} else {
+				runner.startNewGame();
+			}
+		}
+	}
+}
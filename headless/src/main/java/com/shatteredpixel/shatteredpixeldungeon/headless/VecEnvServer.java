@@ -0,0 +1,101 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.headless;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Serves a VecEnv over stdin/stdout, so a trainer pays one round trip per
+ * tick for the whole batch rather than one per environment.
+ * 
+ * Protocol, all integers little-endian:
+ * <pre>
+ * server: int32 length, then length bytes of packed results from VecEnv.reset()
+ * then repeatedly:
+ *   client: numEnvs bytes, one action code per environment (HeadlessAction ordinal, or VecEnv.RESET)
+ *   server: int32 length, then length bytes of packed results from VecEnv.step()
+ * </pre>
+ * The server stops its VecEnv's workers and exits when stdin is closed.
+ * Anything else the game prints is sent to stderr, so stdout only carries the protocol.
+ * 
+ * With a seed pool, episodes cycle through that many seeds and their starts
+ * are kept in GameCaches of the given total size (256MB by default).
+ * 
+ * Usage: VecEnvServer numEnvs [baseSeed] [heroClass] [seedPool] [cacheMegabytes]
+ */
+public final class VecEnvServer {
+	
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 5) {
+			System.err.println("Usage: VecEnvServer numEnvs [baseSeed] [heroClass] [seedPool] [cacheMegabytes]");
+			System.exit(2);
+		}
+		int numEnvs = Integer.parseInt(args[0]);
+		long baseSeed = args.length > 1 ? Long.parseLong(args[1]) : 12345L;
+		HeroClass heroClass = args.length > 2 ? HeroClass.valueOf(args[2].toUpperCase()) : HeroClass.WARRIOR;
+		int seedPool = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+		long cacheMegabytes = args.length > 4 ? Long.parseLong(args[4]) : 256;
+		
+		// Keep stdout for the protocol only
+		FileChannel out = new FileOutputStream(FileDescriptor.out).getChannel();
+		System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true));
+		
+		VecEnv env = new VecEnv(numEnvs, baseSeed, heroClass, seedPool, seedPool > 0 ? cacheMegabytes << 20 : 0);
+		DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+		ByteBuffer length = ByteBuffer.allocateDirect(4).order(ByteOrder.LITTLE_ENDIAN);
+		byte[] actions = new byte[numEnvs];
+		
+		send(out, length, env.reset());
+		try {
+			while (true) {
+				in.readFully(actions);
+				send(out, length, env.step(actions));
+			}
+		} catch (EOFException e) {
+			// The trainer closed the pipe
+		}
+		env.close();
+		System.exit(0);
+	}
+	
+	private static void send(FileChannel out, ByteBuffer length, ByteBuffer results) throws IOException {
+		length.clear();
+		length.putInt(0, results.remaining());
+		while (length.hasRemaining()) {
+			out.write(length);
+		}
+		while (results.hasRemaining()) {
+			out.write(results);
+		}
+	}
+}
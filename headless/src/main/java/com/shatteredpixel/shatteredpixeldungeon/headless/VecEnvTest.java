@@ -0,0 +1,153 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2025 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.headless;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Test #7: Verify VecEnv batches, resets and stays deterministic.
+ * 
+ * Steps two identical batches side by side and checks the packed results
+ * match byte for byte, including after an explicit reset of one environment.
+ * Both play a pool of seeds, one of them restoring repeated starts from a GameCache.
+ */
+public class VecEnvTest {
+	
+	private static final int ENVS = 3;
+	private static final int TICKS = 20;
+	
+	public static void main(String[] args) {
+		boolean passed = TestRunner.runWithTimeout("VecEnv Test", 120, () -> {
+			try {
+				runTest();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		
+		System.exit(passed ? 0 : 1);
+	}
+	
+	private static void runTest() throws IOException {
+		try (VecEnv a = new VecEnv(ENVS, 100L, HeroClass.WARRIOR, ENVS, 0);
+		     VecEnv b = new VecEnv(ENVS, 100L, HeroClass.WARRIOR, ENVS, 64L << 20)) {
+			testBatches(a, b);
+		}
+		testCache();
+		
+		System.out.println();
+		System.out.println("✓ VecEnv batches environments correctly");
+	}
+	
+	private static void testBatches(VecEnv a, VecEnv b) throws IOException {
+		compare(a.reset(), b.reset(), "reset");
+		System.out.println("✓ " + ENVS + " environments started");
+		
+		byte[] actions = new byte[ENVS];
+		for (int tick = 0; tick < TICKS; tick++) {
+			for (int i = 0; i < ENVS; i++) {
+				actions[i] = (byte)HeadlessAction.values()[(tick + i) % 8].ordinal();
+			}
+			if (tick == TICKS / 2) {
+				actions[1] = (byte)VecEnv.RESET;
+			}
+			
+			ByteBuffer results = a.step(actions);
+			compare(results, b.step(actions), "tick " + tick);
+			
+			if (results.getInt(0) != ENVS) {
+				throw new RuntimeException("Packed results hold " + results.getInt(0) + " environments");
+			}
+		}
+		// The pool wrapped around at the reset, so one batch restored that start from its cache
+		System.out.println("✓ " + TICKS + " ticks matched byte for byte, including a cached start");
+		
+		// A bad action is rejected before any environment steps, so the batches still match afterwards
+		byte[] bad = actions.clone();
+		bad[ENVS - 1] = (byte)HeadlessAction.values().length;
+		try {
+			a.step(bad);
+			throw new RuntimeException("Unknown action was accepted");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		compare(a.step(actions), b.step(actions), "a rejected action");
+		System.out.println("✓ Unknown action rejected without stepping");
+		
+		// After its reset, environment 1 is on its second episode
+		ByteBuffer results = a.step(actions);
+		int offset = 4;
+		for (int i = 0; i < ENVS; i++) {
+			int episode = results.getInt(offset + 8);
+			if (episode != (i == 1 ? 1 : 0)) {
+				throw new RuntimeException("Environment " + i + " is on episode " + episode);
+			}
+			offset += 16 + results.getInt(offset + 12);
+		}
+		System.out.println("✓ Reset started a new episode");
+	}
+	
+	private static void testCache() {
+		SPDHeadlessApp.start(12345L, HeroClass.WARRIOR);
+		
+		// Starting the pool's seeds again restores each of them
+		GameCache cache = new GameCache(64L << 20);
+		for (int pass = 0; pass < 2; pass++) {
+			for (int i = 0; i < ENVS; i++) {
+				new DeterministicRunner(new RunConfig(100L + i, HeroClass.WARRIOR)).startNewGame(cache);
+			}
+		}
+		if (cache.hits() != ENVS || cache.entries() != ENVS) {
+			throw new RuntimeException("Cache has " + cache.entries() + " entries and " + cache.hits() + " hits");
+		}
+		System.out.println("✓ Repeated starts came from the cache (" + cache.bytes() / 1024 + "KB cached)");
+		
+		// A snapshot bigger than the whole cache is skipped, rather than emptying the cache to make room
+		DeterministicRunner.Snapshot smallest = null, largest = null;
+		for (int i = 0; i < ENVS; i++) {
+			DeterministicRunner.Snapshot start = cache.get(GameCache.Key.start(new RunConfig(100L + i, HeroClass.WARRIOR)));
+			if (smallest == null || start.size() < smallest.size()) {
+				smallest = start;
+			}
+			if (largest == null || start.size() > largest.size()) {
+				largest = start;
+			}
+		}
+		GameCache small = new GameCache(smallest.size());
+		small.put(GameCache.Key.start(new RunConfig(1L, HeroClass.WARRIOR)), smallest);
+		small.put(GameCache.Key.start(new RunConfig(2L, HeroClass.WARRIOR)), largest);
+		if (largest.size() > smallest.size() && (small.entries() != 1 || small.bytes() != smallest.size())) {
+			throw new RuntimeException("Oversized snapshot evicted the cache down to " + small.entries() + " entries");
+		}
+		System.out.println("✓ Oversized snapshot skipped");
+	}
+	
+	private static void compare(ByteBuffer a, ByteBuffer b, String when) {
+		if (!a.equals(b)) {
+			throw new RuntimeException("Batches differ at " + when);
+		}
+	}
+}